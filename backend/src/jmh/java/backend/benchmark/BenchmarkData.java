@@ -0,0 +1,88 @@
+package backend.benchmark;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.IngredientCatalogEntry;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.Tag;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * In-memory recipes and meal plans for the benchmarks. The data is generated from a fixed seed,
+ * so every run measures the same input.
+ */
+public final class BenchmarkData {
+
+    public static final String TENANT_ID = "benchmark";
+    public static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+
+    private static final QuantityUnit[] UNITS = QuantityUnit.values();
+    private static final Tag[] TAGS = Tag.values();
+
+    private BenchmarkData() {}
+
+    /**
+     * Creates catalogue entries with IDs 1..count.
+     */
+    public static List<IngredientCatalogEntry> catalogue(int count) {
+        List<IngredientCatalogEntry> entries = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            IngredientCatalogEntry entry = new IngredientCatalogEntry(TENANT_ID, "Zutat " + i);
+            entry.setId((long) i);
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Creates recipes with IDs 1..count, each with the given number of ingredients from the catalogue.
+     */
+    public static List<Recipe> recipes(int count, int ingredientsPerRecipe, List<IngredientCatalogEntry> catalogue, Random random) {
+        List<Recipe> recipes = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            List<Ingredient> ingredients = new ArrayList<>(ingredientsPerRecipe);
+            for (int j = 0; j < ingredientsPerRecipe; j++) {
+                IngredientCatalogEntry entry = catalogue.get(random.nextInt(catalogue.size()));
+                Ingredient ingredient = new Ingredient(entry.getName(), String.valueOf(1 + random.nextInt(400)),
+                        UNITS[random.nextInt(UNITS.length)], null);
+                ingredient.setCalories(20.0 + random.nextInt(400));
+                ingredient.setProteins(random.nextDouble() * 30);
+                ingredient.setFats(random.nextDouble() * 30);
+                ingredient.setCarbohydrates(random.nextDouble() * 60);
+                ingredient.setCatalogEntry(entry);
+                ingredients.add(ingredient);
+            }
+            Set<Tag> tags = EnumSet.noneOf(Tag.class);
+            for (int j = 0; j < 3; j++) {
+                tags.add(TAGS[random.nextInt(TAGS.length)]);
+            }
+            Recipe recipe = new Recipe("Rezept " + i, "Beschreibung " + i, 10 + random.nextInt(80), ingredients, tags, TENANT_ID);
+            recipe.setId((long) i);
+            ingredients.forEach(ingredient -> ingredient.setRecipe(recipe));
+            recipe.calculateNutritionalValues();
+            recipes.add(recipe);
+        }
+        return recipes;
+    }
+
+    /**
+     * Creates one meal plan per day starting at {@link #START_DATE}, with random recipes and portion sizes of 1 to 4.
+     */
+    public static List<MealPlan> mealPlans(int days, List<Recipe> recipes, Random random) {
+        List<MealPlan> mealPlans = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            mealPlans.add(new MealPlan(TENANT_ID, START_DATE.plusDays(day),
+                    recipes.get(random.nextInt(recipes.size())), 1 + random.nextInt(4),
+                    recipes.get(random.nextInt(recipes.size())), 1 + random.nextInt(4),
+                    recipes.get(random.nextInt(recipes.size())), 1 + random.nextInt(4)));
+        }
+        return mealPlans;
+    }
+}
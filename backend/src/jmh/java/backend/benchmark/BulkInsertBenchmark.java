@@ -0,0 +1,105 @@
+package backend.benchmark;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.IngredientCatalogEntry;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.Tag;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the rows per second of bulk recipe and meal plan creation with the entity mappings of the application,
+ * with JDBC batching switched off (batch size 1) and on (batch size 50, as configured in application.properties).
+ * It runs against an in-memory H2 database, so it shows the work saved in Hibernate and the driver; over a
+ * network connection every saved round trip adds its latency on top.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkInsertBenchmark {
+
+    private static final int RECIPES = 100;
+    private static final int INGREDIENTS_PER_RECIPE = 8;
+    // Recipe, ingredient and tag rows
+    private static final int RECIPE_ROWS = RECIPES * (1 + INGREDIENTS_PER_RECIPE + 1);
+    private static final int MEAL_PLANS = 1000;
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private SessionFactory sessionFactory;
+    private List<Recipe> mealPlanRecipes;
+    private int nextDay;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Recipe.class)
+                .addAnnotatedClass(Ingredient.class)
+                .addAnnotatedClass(IngredientCatalogEntry.class)
+                .addAnnotatedClass(MealPlan.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:bulk" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.hbm2ddl.auto", "create")
+                .setProperty("hibernate.physical_naming_strategy", "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize))
+                .setProperty("hibernate.order_inserts", "true")
+                .buildSessionFactory();
+
+        mealPlanRecipes = sessionFactory.fromTransaction(session -> {
+            List<Recipe> recipes = newRecipes(0);
+            recipes.forEach(session::persist);
+            return recipes;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPE_ROWS)
+    public void insertRecipes() {
+        List<Recipe> recipes = newRecipes(nextDay++);
+        sessionFactory.inTransaction(session -> recipes.forEach(session::persist));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEAL_PLANS)
+    public void insertMealPlans() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < MEAL_PLANS; i++) {
+                Recipe breakfast = session.getReference(Recipe.class, mealPlanRecipes.get(i % RECIPES).getId());
+                Recipe lunch = session.getReference(Recipe.class, mealPlanRecipes.get((i + 1) % RECIPES).getId());
+                Recipe dinner = session.getReference(Recipe.class, mealPlanRecipes.get((i + 2) % RECIPES).getId());
+                session.persist(new MealPlan(BenchmarkData.TENANT_ID, BenchmarkData.START_DATE.plusDays(nextDay++),
+                        breakfast, 1, lunch, 2, dinner, 1));
+            }
+        });
+    }
+
+    private static List<Recipe> newRecipes(int run) {
+        List<Recipe> recipes = new ArrayList<>(RECIPES);
+        for (int i = 0; i < RECIPES; i++) {
+            Recipe recipe = new Recipe("Rezept " + run + "-" + i, "Beschreibung", 30, new ArrayList<>(),
+                    Set.of(Tag.values()[i % Tag.values().length]), BenchmarkData.TENANT_ID);
+            for (int j = 0; j < INGREDIENTS_PER_RECIPE; j++) {
+                recipe.getIngredients().add(new Ingredient("Zutat " + j, String.valueOf(50 + j), QuantityUnit.GRAM, recipe));
+            }
+            recipes.add(recipe);
+        }
+        return recipes;
+    }
+}
@@ -0,0 +1,73 @@
+package backend.benchmark;
+
+import backend.model.CookingStatistic.CookingStatistic;
+import backend.model.CookingStatistic.CookingStatisticAccumulator;
+import backend.model.CookingStatistic.CookingStatisticRollup;
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.IngredientCatalogEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the statistic calculation for a year of meal plans: the former multi-pass calculation,
+ * the single-pass accumulator over the meal plans, and the summation of the daily rollups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CookingStatisticBenchmark {
+
+    @Param({"365"})
+    public int days;
+
+    private List<MealPlan> mealPlans;
+    private List<CookingStatisticRollup> rollups;
+    private Map<Long, String> ingredientNames;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<IngredientCatalogEntry> catalogue = BenchmarkData.catalogue(200);
+        mealPlans = BenchmarkData.mealPlans(days, BenchmarkData.recipes(80, 8, catalogue, random), random);
+
+        rollups = new ArrayList<>(days);
+        for (MealPlan mealPlan : mealPlans) {
+            CookingStatisticAccumulator day = new CookingStatisticAccumulator();
+            day.add(mealPlan);
+            CookingStatisticRollup rollup = new CookingStatisticRollup(BenchmarkData.TENANT_ID, mealPlan.getDate());
+            day.writeTo(rollup);
+            rollups.add(rollup);
+        }
+        ingredientNames = new HashMap<>();
+        catalogue.forEach(entry -> ingredientNames.put(entry.getId(), entry.getName()));
+    }
+
+    @Benchmark
+    public CookingStatistic multiPass() {
+        return MultiPassCookingStatistic.calculate(mealPlans);
+    }
+
+    @Benchmark
+    public CookingStatistic singlePass() {
+        CookingStatisticAccumulator accumulator = new CookingStatisticAccumulator();
+        for (MealPlan mealPlan : mealPlans) {
+            accumulator.add(mealPlan);
+        }
+        return accumulator.toStatistic(ingredientNames);
+    }
+
+    @Benchmark
+    public CookingStatistic rollups() {
+        CookingStatisticAccumulator accumulator = new CookingStatisticAccumulator();
+        for (CookingStatisticRollup rollup : rollups) {
+            accumulator.add(rollup);
+        }
+        return accumulator.toStatistic(ingredientNames);
+    }
+}
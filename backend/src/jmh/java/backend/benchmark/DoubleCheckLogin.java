@@ -0,0 +1,38 @@
+package backend.benchmark;
+
+import backend.multitenant.tenantId.CustomUserDetailsService;
+import backend.multitenant.tenantId.User;
+import backend.repository.UserRepository;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * The former login as baseline for {@link LoginBenchmark}: AuthService loaded the user and checked the password,
+ * then the AuthenticationManager loaded the user and checked the password again, both on the request thread.
+ */
+class DoubleCheckLogin {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final AuthenticationManager authenticationManager;
+
+    DoubleCheckLogin(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(new CustomUserDetailsService(userRepository));
+        this.authenticationManager = new ProviderManager(provider);
+    }
+
+    Authentication login(String username, String password) {
+        User user = userRepository.findByUsername(username).orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (!passwordEncoder.matches(password, user.getPassword())) {
+            throw new IllegalArgumentException("Wrong password");
+        }
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+    }
+}
@@ -0,0 +1,54 @@
+package backend.benchmark;
+
+import backend.multitenant.authentication.AuthService;
+import backend.multitenant.authentication.AuthenticatedUser;
+import backend.multitenant.tenantId.User;
+import backend.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the logins per second of the former double password check with the single check on the hashing pool.
+ * Several threads log in at the same time, like a burst of users; the user is served from memory, so the
+ * BCrypt checks dominate as they do with a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class LoginBenchmark {
+
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "password";
+
+    private DoubleCheckLogin doubleCheckLogin;
+    private AuthService authService;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        User user = new User(USERNAME, passwordEncoder.encode(PASSWORD), BenchmarkData.TENANT_ID);
+        UserRepository userRepository = Stubs.repository(UserRepository.class, Map.of("findByUsername",
+                args -> USERNAME.equals(args[0]) ? Optional.of(user) : Optional.empty()));
+
+        doubleCheckLogin = new DoubleCheckLogin(userRepository, passwordEncoder);
+        // Four hashing threads for the four login threads
+        authService = new AuthService(userRepository, passwordEncoder, 4, 100);
+    }
+
+    @Benchmark
+    public Authentication doubleCheck() {
+        return doubleCheckLogin.login(USERNAME, PASSWORD);
+    }
+
+    @Benchmark
+    public AuthenticatedUser singleCheck() {
+        return authService.authenticate(USERNAME, PASSWORD).join();
+    }
+}
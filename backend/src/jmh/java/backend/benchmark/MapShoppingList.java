@@ -0,0 +1,84 @@
+package backend.benchmark;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.UnitDimension;
+import backend.model.ShoppingList.ShoppingItem;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shopping list aggregation as it was before IngredientTotals: one boxed {@code HashMap} entry and one
+ * total object per ingredient. Only kept as the baseline of {@link ShoppingListBenchmark}.
+ */
+final class MapShoppingList {
+
+    private static final UnitDimension[] DIMENSIONS = UnitDimension.values();
+
+    private MapShoppingList() {}
+
+    static List<ShoppingItem> generate(List<MealPlan> mealPlans) {
+        Map<Long, Total> totals = new HashMap<>();
+        for (MealPlan mealPlan : mealPlans) {
+            add(totals, mealPlan.getBreakfastRecipe(), mealPlan.getBreakfastPortionSize());
+            add(totals, mealPlan.getLunchRecipe(), mealPlan.getLunchPortionSize());
+            add(totals, mealPlan.getDinnerRecipe(), mealPlan.getDinnerPortionSize());
+        }
+        List<ShoppingItem> items = new ArrayList<>(totals.size());
+        for (Map.Entry<Long, Total> total : totals.entrySet()) {
+            items.add(total.getValue().toShoppingItem(total.getKey()));
+        }
+        return items;
+    }
+
+    private static void add(Map<Long, Total> totals, Recipe recipe, int portionSize) {
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            totals.computeIfAbsent(ingredient.getCatalogEntryId(), k -> new Total(ingredient.getName()))
+                    .add(ingredient.getUnit(), ingredient.getAmount() * portionSize);
+        }
+    }
+
+    private static final class Total {
+
+        private final String name;
+        private final double[] baseAmounts = new double[DIMENSIONS.length];
+        private int usedDimensions;
+
+        private Total(String name) {
+            this.name = name;
+        }
+
+        private void add(QuantityUnit unit, double amount) {
+            int dimension = unit.getDimension().ordinal();
+            baseAmounts[dimension] += unit.toBase(amount);
+            usedDimensions |= 1 << dimension;
+        }
+
+        private ShoppingItem toShoppingItem(Long id) {
+            StringBuilder text = new StringBuilder();
+            double displayAmount = 0;
+            for (UnitDimension dimension : DIMENSIONS) {
+                if ((usedDimensions & (1 << dimension.ordinal())) == 0) {
+                    continue;
+                }
+                QuantityUnit unit = QuantityUnit.displayUnit(dimension, baseAmounts[dimension.ordinal()]);
+                double amount = unit.fromBase(baseAmounts[dimension.ordinal()]);
+                if (text.length() == 0) {
+                    displayAmount = amount;
+                } else {
+                    text.append(", ");
+                }
+                text.append(BigDecimal.valueOf(amount).setScale(3, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString())
+                        .append(' ').append(unit);
+            }
+            return new ShoppingItem(id, name, displayAmount, text.toString());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package backend.benchmark;
+
+import backend.model.CookingStatistic.CookingStatistic;
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.Tag;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The statistic calculation as it was before the single-pass accumulator: one walk over the meal plans
+ * per value, with boxed counters. Only kept as the baseline of {@link CookingStatisticBenchmark}.
+ */
+final class MultiPassCookingStatistic {
+
+    private MultiPassCookingStatistic() {}
+
+    static CookingStatistic calculate(List<MealPlan> mealPlans) {
+        CookingStatistic statistic = new CookingStatistic();
+        if (mealPlans.isEmpty()) {
+            return statistic;
+        }
+        statistic.setAveragePortions(averagePortionSize(mealPlans));
+        statistic.setAverageCookingTime(averageCookingTime(mealPlans));
+        statistic.setAttributes(tagUsage(mealPlans));
+        statistic.setFavouriteRecipes(popularRecipes(mealPlans));
+        statistic.setFavouriteIngredients(top20Ingredients(mealPlans));
+        statistic.setAmountOfCookedRecipes((long) statistic.getFavouriteRecipes().keySet().size());
+        statistic.setAverageCaloriesPerRecipe(averageCaloriesPerRecipe(mealPlans));
+        statistic.setAverageCaloriesPerDay(averageCaloriesPerDay(mealPlans));
+        statistic.setAverageNutrientDistributionPerRecipe(distributionPerPortion(mealPlans));
+        statistic.setAverageNutrientDistributionPerDay(distributionPerDay(mealPlans));
+        return statistic;
+    }
+
+    private static Double averageCaloriesPerRecipe(List<MealPlan> mealPlans) {
+        double totalCalories = 0.0;
+        List<String> recipeNames = new ArrayList<>();
+        for (MealPlan mealPlan : mealPlans) {
+            for (Recipe recipe : recipes(mealPlan)) {
+                totalCalories += recipe.getTotalCalories();
+                recipeNames.add(recipe.getName());
+            }
+        }
+        return recipeNames.isEmpty() ? 0.0 : totalCalories / recipeNames.size();
+    }
+
+    private static Double averageCaloriesPerDay(List<MealPlan> mealPlans) {
+        double total = 0.0;
+        for (MealPlan mealPlan : mealPlans) {
+            if (mealPlan.getBreakfastRecipe() != null) {
+                total += mealPlan.getBreakfastRecipe().getTotalCalories() * mealPlan.getBreakfastPortionSize();
+            }
+            if (mealPlan.getLunchRecipe() != null) {
+                total += mealPlan.getLunchRecipe().getTotalCalories() * mealPlan.getLunchPortionSize();
+            }
+            if (mealPlan.getDinnerRecipe() != null) {
+                total += mealPlan.getDinnerRecipe().getTotalCalories() * mealPlan.getDinnerPortionSize();
+            }
+        }
+        return total / mealPlans.size();
+    }
+
+    private static Map<String, Double> distributionPerPortion(List<MealPlan> mealPlans) {
+        Map<String, Double> distribution = new HashMap<>();
+        double protein = 0.0;
+        double fat = 0.0;
+        double carbohydrate = 0.0;
+        double portions = 0;
+        for (MealPlan mealPlan : mealPlans) {
+            if (mealPlan.getBreakfastRecipe() != null) {
+                protein += mealPlan.getBreakfastRecipe().getProteinPercentage() * mealPlan.getBreakfastPortionSize();
+                fat += mealPlan.getBreakfastRecipe().getFatPercentage() * mealPlan.getBreakfastPortionSize();
+                carbohydrate += mealPlan.getBreakfastRecipe().getCarbohydratePercentage() * mealPlan.getBreakfastPortionSize();
+            }
+            if (mealPlan.getLunchRecipe() != null) {
+                protein += mealPlan.getLunchRecipe().getProteinPercentage() * mealPlan.getLunchPortionSize();
+                fat += mealPlan.getLunchRecipe().getFatPercentage() * mealPlan.getLunchPortionSize();
+                carbohydrate += mealPlan.getLunchRecipe().getCarbohydratePercentage() * mealPlan.getLunchPortionSize();
+            }
+            if (mealPlan.getDinnerRecipe() != null) {
+                protein += mealPlan.getDinnerRecipe().getProteinPercentage();
+                fat += mealPlan.getDinnerRecipe().getFatPercentage();
+                carbohydrate += mealPlan.getDinnerRecipe().getCarbohydratePercentage();
+            }
+            portions += mealPlan.getBreakfastPortionSize() + mealPlan.getLunchPortionSize() + mealPlan.getDinnerPortionSize();
+        }
+        if (portions > 0) {
+            distribution.put("protein", protein / portions);
+            distribution.put("fat", fat / portions);
+            distribution.put("carbohydrate", carbohydrate / portions);
+        }
+        return distribution;
+    }
+
+    private static Map<String, Double> distributionPerDay(List<MealPlan> mealPlans) {
+        Map<String, Double> distribution = new HashMap<>();
+        double protein = 0.0;
+        double fat = 0.0;
+        double carbohydrate = 0.0;
+        for (MealPlan mealPlan : mealPlans) {
+            double dayProtein = 0.0;
+            double dayFat = 0.0;
+            double dayCarbohydrate = 0.0;
+            if (mealPlan.getBreakfastRecipe() != null) {
+                dayProtein += mealPlan.getBreakfastRecipe().getProteinPercentage() * mealPlan.getBreakfastPortionSize();
+                dayFat += mealPlan.getBreakfastRecipe().getFatPercentage() * mealPlan.getBreakfastPortionSize();
+                dayCarbohydrate += mealPlan.getBreakfastRecipe().getCarbohydratePercentage() * mealPlan.getBreakfastPortionSize();
+            }
+            if (mealPlan.getLunchRecipe() != null) {
+                dayProtein += mealPlan.getLunchRecipe().getProteinPercentage() * mealPlan.getLunchPortionSize();
+                dayFat += mealPlan.getLunchRecipe().getFatPercentage() * mealPlan.getLunchPortionSize();
+                dayCarbohydrate += mealPlan.getLunchRecipe().getCarbohydratePercentage() * mealPlan.getLunchPortionSize();
+            }
+            if (mealPlan.getDinnerRecipe() != null) {
+                dayProtein += mealPlan.getDinnerRecipe().getProteinPercentage() * mealPlan.getDinnerPortionSize();
+                dayFat += mealPlan.getDinnerRecipe().getFatPercentage() * mealPlan.getDinnerPortionSize();
+                dayCarbohydrate += mealPlan.getDinnerRecipe().getCarbohydratePercentage() * mealPlan.getDinnerPortionSize();
+            }
+            int portions = mealPlan.getBreakfastPortionSize() + mealPlan.getLunchPortionSize() + mealPlan.getDinnerPortionSize();
+            protein += dayProtein / portions;
+            fat += dayFat / portions;
+            carbohydrate += dayCarbohydrate / portions;
+        }
+        distribution.put("protein", protein / mealPlans.size());
+        distribution.put("fat", fat / mealPlans.size());
+        distribution.put("carbohydrate", carbohydrate / mealPlans.size());
+        return distribution;
+    }
+
+    private static Map<String, Integer> top20Ingredients(List<MealPlan> mealPlans) {
+        Map<String, Integer> frequency = new HashMap<>();
+        mealPlans.forEach(mealPlan -> Stream.of(mealPlan.getBreakfastRecipe(), mealPlan.getLunchRecipe(), mealPlan.getDinnerRecipe())
+                .filter(Objects::nonNull)
+                .flatMap(recipe -> recipe.getIngredients().stream())
+                .forEach(ingredient -> frequency.merge(ingredient.getName(), 1, Integer::sum)));
+        return frequency.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(20)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) -> e1, LinkedHashMap::new));
+    }
+
+    private static Map<Tag, Long> tagUsage(List<MealPlan> mealPlans) {
+        Map<Tag, Long> usage = new HashMap<>();
+        for (MealPlan mealPlan : mealPlans) {
+            for (Recipe recipe : recipes(mealPlan)) {
+                for (Tag tag : recipe.getTags()) {
+                    usage.put(tag, usage.getOrDefault(tag, 0L) + 1);
+                }
+            }
+        }
+        return usage;
+    }
+
+    private static Long averagePortionSize(List<MealPlan> mealPlans) {
+        long portions = 0L;
+        for (MealPlan mealPlan : mealPlans) {
+            portions += mealPlan.getLunchPortionSize() + mealPlan.getBreakfastPortionSize() + mealPlan.getDinnerPortionSize();
+        }
+        return portions / (mealPlans.size() * 3L);
+    }
+
+    private static Long averageCookingTime(List<MealPlan> mealPlans) {
+        long cookingTime = 0L;
+        for (MealPlan mealPlan : mealPlans) {
+            for (Recipe recipe : recipes(mealPlan)) {
+                cookingTime += recipe.getCookingTime();
+            }
+        }
+        return cookingTime / (mealPlans.size() * 3L);
+    }
+
+    private static Map<String, Long> popularRecipes(List<MealPlan> mealPlans) {
+        Map<String, Long> usage = new HashMap<>();
+        for (MealPlan mealPlan : mealPlans) {
+            for (Recipe recipe : recipes(mealPlan)) {
+                usage.put(recipe.getName(), usage.getOrDefault(recipe.getName(), 0L) + 1);
+            }
+        }
+        return usage.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(10)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) -> e1, LinkedHashMap::new));
+    }
+
+    // The baseline collected the recipes of a day into a new list for several of the walks
+    private static List<Recipe> recipes(MealPlan mealPlan) {
+        List<Recipe> recipes = new ArrayList<>(3);
+        if (mealPlan.getBreakfastRecipe() != null) recipes.add(mealPlan.getBreakfastRecipe());
+        if (mealPlan.getLunchRecipe() != null) recipes.add(mealPlan.getLunchRecipe());
+        if (mealPlan.getDinnerRecipe() != null) recipes.add(mealPlan.getDinnerRecipe());
+        return recipes;
+    }
+}
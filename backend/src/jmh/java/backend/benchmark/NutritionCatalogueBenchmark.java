@@ -0,0 +1,87 @@
+package backend.benchmark;
+
+import backend.model.Recipe.Ingredient;
+import backend.service.NutritionCatalogue;
+import backend.service.NutritionCatalogueImporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of a prefix search in the memory-mapped nutrition catalogue for growing catalogue sizes.
+ * The catalogue is imported once per size from a generated CSV export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NutritionCatalogueBenchmark {
+
+    private static final String[] SYLLABLES = {"ha", "fer", "mehl", "to", "ma", "te", "kä", "se", "brot", "reis",
+            "nu", "del", "öl", "zu", "cker", "but", "ter", "milch", "ei", "lin", "se", "erb", "sen", "ap", "fel"};
+
+    @Param({"1000", "100000", "1000000"})
+    public int products;
+
+    private Path directory;
+    private NutritionCatalogue catalogue;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        directory = Files.createTempDirectory("nutrition-catalogue-benchmark");
+        Path dump = directory.resolve("products.csv");
+        queries = new String[1024];
+        try (BufferedWriter writer = Files.newBufferedWriter(dump, StandardCharsets.UTF_8)) {
+            writer.write("product_name\tenergy-kcal_100g\tproteins_100g\tfat_100g\tcarbohydrates_100g\n");
+            for (int i = 0; i < products; i++) {
+                String name = name(random) + " " + i;
+                writer.write(name + "\t" + random.nextInt(900) + "\t" + random.nextInt(50) + "\t"
+                        + random.nextInt(100) + "\t" + random.nextInt(100) + "\n");
+                if (i < queries.length) {
+                    queries[i] = name.substring(0, Math.min(name.length(), 3 + random.nextInt(5)));
+                }
+            }
+        }
+        for (int i = products; i < queries.length; i++) {
+            queries[i] = queries[i % products];
+        }
+
+        catalogue = new NutritionCatalogue(directory.resolve("catalogue.bin").toString());
+        new NutritionCatalogueImporter(catalogue, new ObjectMapper()).importDump(dump);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public List<Ingredient> search() {
+        String query = queries[next++ & (queries.length - 1)];
+        return catalogue.search(query, 5);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(4);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return name.toString();
+    }
+}
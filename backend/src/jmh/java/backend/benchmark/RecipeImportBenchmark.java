@@ -0,0 +1,102 @@
+package backend.benchmark;
+
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.RecipeImportResult;
+import backend.model.Recipe.Tag;
+import backend.repository.IngredientCatalogRepository;
+import backend.repository.MealPlanRepository;
+import backend.repository.RecipeRepository;
+import backend.service.IngredientCatalogService;
+import backend.service.RecipeImportService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures the import throughput in records per second: reading, parsing, validating and binding the NDJSON
+ * recipes, the nutrition calculation and the chunking. The repositories are in-memory stubs, so the time
+ * for the database writes is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RecipeImportBenchmark {
+
+    private static final int RECORDS = 10_000;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private RecipeImportService importService;
+    private byte[] input;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        importService = new RecipeImportService(
+                Stubs.repository(RecipeRepository.class, Map.of()),
+                Stubs.repository(MealPlanRepository.class, Map.of()),
+                null, // Only needed for meal plan records
+                null, // Only needed for meal plan records
+                new IngredientCatalogService(Stubs.repository(IngredientCatalogRepository.class, Map.of()), Stubs.transactionManager()),
+                new TransactionTemplate(Stubs.transactionManager()),
+                objectMapper, 500, 100, 1_048_576);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            Random random = new Random(42);
+            for (int i = 0; i < RECORDS; i++) {
+                out.write(objectMapper.writeValueAsBytes(recipe(i, random)));
+                out.write('\n');
+            }
+        }
+        input = bytes.toByteArray();
+
+        RecipeImportResult result = importRecipes();
+        if (result.getImported() != RECORDS) {
+            throw new IllegalStateException("Generated records were rejected: " + result.getErrors());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public RecipeImportResult importRecipes() throws IOException {
+        return importService.importRecipes(BenchmarkData.TENANT_ID, new ByteArrayInputStream(input));
+    }
+
+    private static Map<String, Object> recipe(int i, Random random) {
+        List<Map<String, Object>> ingredients = new ArrayList<>();
+        for (int j = 0; j < 8; j++) {
+            Map<String, Object> ingredient = new LinkedHashMap<>();
+            ingredient.put("name", "Zutat " + random.nextInt(200));
+            ingredient.put("quantity", String.valueOf(1 + random.nextInt(400)));
+            ingredient.put("unit", QuantityUnit.values()[random.nextInt(QuantityUnit.values().length)].name());
+            ingredient.put("calories", 20.0 + random.nextInt(400));
+            ingredient.put("proteins", random.nextDouble() * 30);
+            ingredient.put("fats", random.nextDouble() * 30);
+            ingredient.put("carbohydrates", random.nextDouble() * 60);
+            ingredients.add(ingredient);
+        }
+        Map<String, Object> recipe = new LinkedHashMap<>();
+        recipe.put("id", i);
+        recipe.put("name", "Rezept " + i);
+        recipe.put("description", "Alle Zutaten mischen und " + (10 + random.nextInt(50)) + " Minuten garen.");
+        recipe.put("cookingTime", 10 + random.nextInt(80));
+        recipe.put("tags", List.of(Tag.values()[random.nextInt(Tag.values().length)].name()));
+        recipe.put("ingredients", ingredients);
+        return recipe;
+    }
+}
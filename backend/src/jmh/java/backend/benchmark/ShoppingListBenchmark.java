@@ -0,0 +1,47 @@
+package backend.benchmark;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.ShoppingList.ShoppingItem;
+import backend.model.ShoppingList.ShoppingList;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shopping lists per second for 1, 4 and 52 weeks of meal plans: the aggregation in IngredientTotals
+ * against the former map of total objects. The gc profiler reports the bytes allocated per list
+ * (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ShoppingListBenchmark {
+
+    @Param({"1", "4", "52"})
+    public int weeks;
+
+    private List<MealPlan> mealPlans;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        mealPlans = BenchmarkData.mealPlans(weeks * 7, BenchmarkData.recipes(80, 8, BenchmarkData.catalogue(200), random), random);
+        endDate = BenchmarkData.START_DATE.plusDays(weeks * 7L - 1);
+    }
+
+    @Benchmark
+    public List<ShoppingItem> ingredientTotals() {
+        ShoppingList shoppingList = new ShoppingList(BenchmarkData.START_DATE, endDate);
+        shoppingList.generateShoppingList(mealPlans);
+        return shoppingList.getItems();
+    }
+
+    @Benchmark
+    public List<ShoppingItem> hashMap() {
+        return MapShoppingList.generate(mealPlans);
+    }
+}
@@ -0,0 +1,56 @@
+package backend.benchmark;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for repositories and the transaction manager, so the benchmarks measure the application
+ * code without a database.
+ */
+final class Stubs {
+
+    private Stubs() {}
+
+    /**
+     * Creates a repository stub. Methods with an answer return it; otherwise saveAll returns its argument,
+     * queries return an empty list or Optional and all other methods return null.
+     */
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getName().equals("saveAll")) {
+                return args[0];
+            }
+            if (method.getReturnType() == List.class) {
+                return List.of();
+            }
+            if (method.getReturnType() == Optional.class) {
+                return Optional.empty();
+            }
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type.getSimpleName() + " stub";
+                default -> null;
+            };
+        }));
+    }
+
+    /**
+     * Creates a transaction manager whose transactions do nothing.
+     */
+    static PlatformTransactionManager transactionManager() {
+        return (PlatformTransactionManager) Proxy.newProxyInstance(PlatformTransactionManager.class.getClassLoader(),
+                new Class<?>[]{PlatformTransactionManager.class},
+                (proxy, method, args) -> method.getName().equals("getTransaction") ? new SimpleTransactionStatus() : null);
+    }
+}
@@ -0,0 +1,139 @@
+package backend.benchmark;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.IngredientCatalogEntry;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.RecipeSummary;
+import backend.model.Recipe.Tag;
+import backend.multitenant.tenantId.TenantContext;
+import backend.repository.RecipeRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test of the request threads: a burst of requests, each bound to its own tenant like the tenant filters do,
+ * reads the first page of its tenant's recipe list through the {@link RecipeRepository} in a read-only transaction,
+ * like {@code GET /api/recipes/page}. The requests run on Tomcat's default pool of 200 platform threads or on one
+ * virtual thread per request. The repository runs against an in-memory H2 database behind a Hikari pool of
+ * 10 connections (the Spring Boot default), which limits both modes the same way. Every request checks that it only
+ * got the recipes of its own tenant.
+ * The gc profiler (see build.gradle) reports the bytes allocated per burst (gc.alloc.rate.norm) next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TenantRequestBenchmark {
+
+    // Default of server.tomcat.threads.max
+    private static final int PLATFORM_THREADS = 200;
+    // Default of spring.datasource.hikari.maximum-pool-size
+    private static final int CONNECTIONS = 10;
+    private static final int TENANTS = 50;
+    private static final int RECIPES_PER_TENANT = 20;
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"2000"})
+    public int requests;
+
+    private ExecutorService executor;
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private RecipeRepository recipeRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:tenants" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(CONNECTIONS);
+
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Recipe.class)
+                .addAnnotatedClass(Ingredient.class)
+                .addAnnotatedClass(IngredientCatalogEntry.class)
+                .addAnnotatedClass(MealPlan.class)
+                .setProperty("hibernate.hbm2ddl.auto", "create")
+                .setProperty("hibernate.physical_naming_strategy", "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy");
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+        sessionFactory = configuration.buildSessionFactory();
+        sessionFactory.inTransaction(session -> {
+            for (int tenant = 0; tenant < TENANTS; tenant++) {
+                for (int i = 0; i < RECIPES_PER_TENANT; i++) {
+                    session.persist(newRecipe(tenantId(tenant), i));
+                }
+            }
+        });
+
+        recipeRepository = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(sessionFactory))
+                .getRepository(RecipeRepository.class);
+        readOnlyTransaction = new TransactionTemplate(new JpaTransactionManager(sessionFactory));
+        readOnlyTransaction.setReadOnly(true);
+
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Boolean>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            String tenantId = tenantId(i % TENANTS);
+            responses.add(executor.submit(() -> TenantContext.callWithTenant(tenantId, () -> {
+                List<RecipeSummary> page = readOnlyTransaction.execute(status -> recipeRepository.searchSummaries(
+                        TenantContext.getCurrentTenant(), null, 0, null, false, null, null, Limit.of(RECIPES_PER_TENANT)));
+                return page.size() == RECIPES_PER_TENANT
+                        && page.stream().allMatch(recipe -> recipe.getName().startsWith(tenantId + " "));
+            })));
+        }
+        int served = 0;
+        for (Future<Boolean> response : responses) {
+            if (!response.get()) {
+                throw new IllegalStateException("Request saw the recipes of another tenant");
+            }
+            served++;
+        }
+        return served;
+    }
+
+    private static String tenantId(int tenant) {
+        return "tenant-" + tenant;
+    }
+
+    private static Recipe newRecipe(String tenantId, int i) {
+        Recipe recipe = new Recipe(tenantId + " Rezept " + i, "Beschreibung", 30, new ArrayList<>(),
+                Set.of(Tag.values()[i % Tag.values().length]), tenantId);
+        recipe.getIngredients().add(new Ingredient("Zutat " + i, "100", QuantityUnit.GRAM, recipe));
+        return recipe;
+    }
+}
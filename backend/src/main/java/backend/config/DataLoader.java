@@ -5,10 +5,12 @@ import backend.model.Recipe.Ingredient;
 import backend.model.Recipe.QuantityUnit;
 import backend.model.Recipe.Recipe;
 import backend.model.Recipe.Tag;
-import backend.repository.IngredientRepository;
 import backend.repository.MealPlanRepository;
 import backend.repository.RecipeRepository;
 import backend.multitenant.authentication.AuthService;
+import backend.service.CookingStatisticRollupService;
+import backend.service.DailyIngredientDemandService;
+import backend.service.IngredientCatalogService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -19,16 +21,21 @@ import java.util.*;
 public class DataLoader implements CommandLineRunner {
 
     private final RecipeRepository recipeRepository;
-    private final IngredientRepository ingredientRepository;
     private final MealPlanRepository mealPlanRepository;
     private final AuthService authService;
+    private final CookingStatisticRollupService rollupService;
+    private final DailyIngredientDemandService demandService;
+    private final IngredientCatalogService catalogService;
 
-    public DataLoader(RecipeRepository recipeRepository, IngredientRepository ingredientRepository,
-                      MealPlanRepository mealPlanRepository, AuthService authService) {
+    public DataLoader(RecipeRepository recipeRepository, MealPlanRepository mealPlanRepository, AuthService authService,
+                      CookingStatisticRollupService rollupService, DailyIngredientDemandService demandService,
+                      IngredientCatalogService catalogService) {
         this.recipeRepository = recipeRepository;
-        this.ingredientRepository = ingredientRepository;
         this.mealPlanRepository = mealPlanRepository;
         this.authService = authService;
+        this.rollupService = rollupService;
+        this.demandService = demandService;
+        this.catalogService = catalogService;
     }
 
     @Override
@@ -92,22 +99,27 @@ public class DataLoader implements CommandLineRunner {
                         Arrays.asList(Tag.BREAKFAST, Tag.VEGETARIAN, Tag.LOW_CALORIE))
         );
 
-        // Save the recipes to the repository
+        // Save the new recipes in one batch; the ingredients are cascaded with their recipe
+        Set<String> existingNames = new HashSet<>(recipeRepository.findNamesByTenantId(tenantId));
+        List<Recipe> newRecipes = new ArrayList<>();
         for (Recipe recipe : recipes) {
-            if (!recipeRepository.existsByTenantIdAndName(tenantId, recipe.getName())) {
+            if (!existingNames.contains(recipe.getName())) {
                 recipe.setTenantId(tenantId);
-                recipeRepository.save(recipe); // Save the recipe first
-
-                // Now that the recipe is saved, set the recipe reference for each ingredient
                 for (Ingredient ingredient : recipe.getIngredients()) {
                     ingredient.setRecipe(recipe); // Set the recipe reference here
-                    ingredientRepository.save(ingredient); // Save the ingredient after the recipe reference is set
                 }
+                newRecipes.add(recipe);
             }
         }
+        catalogService.resolve(tenantId, newRecipes);
+        recipeRepository.saveAll(newRecipes);
 
         // Create meal plans
         createMealPlans(tenantId, recipes);
+
+        // The meal plans are saved directly, so the statistic rollups and ingredient demand are computed afterwards
+        rollupService.rebuildTenant(tenantId);
+        demandService.rebuildTenant(tenantId);
     }
 
     private Recipe createRecipe(String name, List<Ingredient> ingredients, String description, List<Tag> tags) {
@@ -159,9 +171,11 @@ public class DataLoader implements CommandLineRunner {
             }
         }
 
-        // Now create meal plans
+        // Now create meal plans for the days that have none yet, and save them in one batch
+        Set<LocalDate> existingDates = new HashSet<>(mealPlanRepository.findDatesByTenantIdAndDateBetween(tenantId, startDate, endDate));
+        List<MealPlan> mealPlans = new ArrayList<>();
         for (LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1)) {
-            if (!mealPlanRepository.existsByTenantIdAndDate(tenantId, date)) {
+            if (!existingDates.contains(date)) {
                 // Distribute recipes across meal plans
                 Recipe breakfast = breakfastRecipes.get(random.nextInt(breakfastRecipes.size()));
                 Recipe lunch = lunchRecipes.get(random.nextInt(lunchRecipes.size()));
@@ -169,9 +183,10 @@ public class DataLoader implements CommandLineRunner {
 
                 // Create a meal plan with the selected recipes
                 MealPlan mealPlan = new MealPlan(tenantId, date, breakfast, 2, lunch, 3, dinner, 4);
-                mealPlanRepository.save(mealPlan);
+                mealPlans.add(mealPlan);
             }
         }
+        mealPlanRepository.saveAll(mealPlans);
     }
 
 }
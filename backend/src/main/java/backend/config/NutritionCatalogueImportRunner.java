@@ -0,0 +1,37 @@
+package backend.config;
+
+import backend.service.NutritionCatalogueImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Imports an Open Food Facts export into the local nutrition catalogue on startup
+ * when the application is started with the {@code --import-nutrition-catalogue=<export file>} option.
+ */
+@Component
+public class NutritionCatalogueImportRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(NutritionCatalogueImportRunner.class);
+    static final String IMPORT_OPTION = "import-nutrition-catalogue";
+
+    private final NutritionCatalogueImporter importer;
+
+    public NutritionCatalogueImportRunner(NutritionCatalogueImporter importer) {
+        this.importer = importer;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (args.containsOption(IMPORT_OPTION)) {
+            for (String dump : args.getOptionValues(IMPORT_OPTION)) {
+                logger.info("Importing nutrition catalogue from {}...", dump);
+                importer.importDump(Path.of(dump));
+            }
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package backend.config;
 
+import backend.multitenant.authentication.AuthMode;
+import backend.multitenant.authentication.JwtAuthenticationFilter;
+import backend.multitenant.authentication.JwtService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
  * Security configuration class for setting up Spring Security.
@@ -26,18 +31,27 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
+    private final JwtService jwtService;
+    private final AuthMode authMode;
 
     /**
      * Constructs a {@code SecurityConfig} instance with the specified {@link UserDetailsService}.
      *
      * @param userDetailsService the service for loading user-specific data
+     * @param jwtService the service verifying tokens in the {@link AuthMode#JWT} mode
+     * @param authMode the configured authentication mode ({@code auth.mode})
      */
-    public SecurityConfig(UserDetailsService userDetailsService) {
+    public SecurityConfig(UserDetailsService userDetailsService, JwtService jwtService,
+                          @Value("${auth.mode:session}") AuthMode authMode) {
         this.userDetailsService = userDetailsService;
+        this.jwtService = jwtService;
+        this.authMode = authMode;
     }
 
     /**
      * Configures the security filter chain for HTTP requests.
+     * In the {@link AuthMode#JWT} mode no session is created or read; requests are authenticated
+     * by the {@link JwtAuthenticationFilter} instead.
      * @param http the {@link HttpSecurity} to configure
      * @return the configured {@link SecurityFilterChain}
      * @throws Exception if an error occurs during configuration
@@ -50,11 +64,21 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()  // Allow public access to auth endpoints
                         .anyRequest().permitAll()  // Allow all HTTP methods for all endpoints
                 )
-                .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.ALWAYS)  // Use HTTP session if required
-                )
                 .cors(cors -> {});  // Enable CORS
 
+        if (authMode == AuthMode.JWT) {
+            http
+                    .sessionManagement(session -> session
+                            .sessionCreationPolicy(SessionCreationPolicy.STATELESS)  // Never use the HTTP session
+                    )
+                    .addFilterBefore(new JwtAuthenticationFilter(jwtService), UsernamePasswordAuthenticationFilter.class);
+        } else {
+            http
+                    .sessionManagement(session -> session
+                            .sessionCreationPolicy(SessionCreationPolicy.ALWAYS)  // Use HTTP session if required
+                    );
+        }
+
         return http.build();
     }
 
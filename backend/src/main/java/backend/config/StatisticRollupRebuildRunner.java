@@ -0,0 +1,37 @@
+package backend.config;
+
+import backend.service.CookingStatisticRollupService;
+import backend.service.DailyIngredientDemandService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes the daily statistic rollups and ingredient demand of all existing tenants on startup
+ * when the application is started with the {@code --rebuild-statistic-rollups} option.
+ */
+@Component
+public class StatisticRollupRebuildRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticRollupRebuildRunner.class);
+    static final String REBUILD_OPTION = "rebuild-statistic-rollups";
+
+    private final CookingStatisticRollupService rollupService;
+    private final DailyIngredientDemandService demandService;
+
+    public StatisticRollupRebuildRunner(CookingStatisticRollupService rollupService, DailyIngredientDemandService demandService) {
+        this.rollupService = rollupService;
+        this.demandService = demandService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_OPTION)) {
+            logger.info("Rebuilding statistic rollups for all tenants...");
+            rollupService.rebuildAll();
+            demandService.rebuildAll();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package backend.config;
+
+import backend.service.RecipeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the tag mask of recipes that were stored before the mask existed, so tag searches find them.
+ * Runs on every startup; once all masks are set, it only costs one query.
+ */
+@Component
+public class TagMaskBackfillRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagMaskBackfillRunner.class);
+
+    private final RecipeService recipeService;
+
+    public TagMaskBackfillRunner(RecipeService recipeService) {
+        this.recipeService = recipeService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int recipes = recipeService.backfillTagMasks();
+        if (recipes > 0) {
+            logger.info("Set the tag mask of {} recipes", recipes);
+        }
+    }
+}
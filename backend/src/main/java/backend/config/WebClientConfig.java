@@ -1,8 +1,15 @@
 package backend.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 /**
  * Configuration class for setting up a {@link WebClient} bean.
@@ -14,20 +21,52 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Configuration
 public class WebClientConfig {
 
+    /**
+     * Creates the connection pool shared by all requests of the {@link WebClient}.
+     * <p>
+     * At most {@code maxConnections} requests run at the same time; up to {@code maxPendingAcquires}
+     * further requests wait for a free connection, any request beyond that fails immediately.
+     * </p>
+     *
+     * @return the connection pool
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider webClientConnectionProvider(
+            @Value("${webclient.max-connections:20}") int maxConnections,
+            @Value("${webclient.max-pending-acquires:100}") int maxPendingAcquires,
+            @Value("${webclient.pending-acquire-timeout:PT5S}") Duration pendingAcquireTimeout,
+            @Value("${webclient.max-idle-time:PT30S}") Duration maxIdleTime) {
+        return ConnectionProvider.builder("webclient")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .build();
+    }
+
     /**
      * Creates and configures a {@link WebClient} bean.
      * <p>
      * This method configures the {@link WebClient} with:
      * <ul>
      *   <li>A maximum in-memory buffer size of 10 MB for handling large responses.</li>
+     *   <li>The shared connection pool, so connections are reused across requests.</li>
+     *   <li>A connect timeout and a response timeout, so a slow upstream cannot hold a request forever.</li>
      * </ul>
      * </p>
      *
      * @return a configured {@link WebClient} instance
      */
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(ConnectionProvider webClientConnectionProvider,
+                               @Value("${webclient.connect-timeout:PT3S}") Duration connectTimeout,
+                               @Value("${webclient.response-timeout:PT10S}") Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create(webClientConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+
         return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)) // 10 MB max
                 .build();
     }
@@ -1,6 +1,7 @@
 package backend.controller;
 
 import backend.model.Recipe.Ingredient;
+import backend.service.IngredientSearchCache;
 import backend.service.IngredientService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for managing ingredient-related operations.
@@ -26,13 +28,24 @@ public class IngredientController {
      * <p>
      * This endpoint allows users to search for ingredients by providing a query.
      * It delegates the search operation to the {@link IngredientService}.
+     * The request is processed asynchronously, so no request thread waits for the upstream API.
      * </p>
      *
      * @param query the search query for ingredients
-     * @return a list of {@link Ingredient} objects matching the search query
+     * @return a future of the list of {@link Ingredient} objects matching the search query
      */
     @GetMapping("/api/ingredients/search")
-    public List<Ingredient> searchIngredients(@RequestParam String query) {
+    public CompletableFuture<List<Ingredient>> searchIngredients(@RequestParam String query) {
         return ingredientService.searchIngredientsFromAPI(query);
     }
+
+    /**
+     * Returns the hit, miss and latency counters of the ingredient search cache.
+     *
+     * @return the current cache statistics
+     */
+    @GetMapping("/api/ingredients/cache/stats")
+    public IngredientSearchCache.Stats getSearchCacheStats() {
+        return ingredientService.getSearchCacheStats();
+    }
 }
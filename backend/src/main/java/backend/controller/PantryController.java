@@ -0,0 +1,51 @@
+package backend.controller;
+
+import backend.model.Pantry.PantryStock;
+import backend.multitenant.tenantId.TenantContext;
+import backend.service.PantryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for the pantry of a tenant. The stock is subtracted from the generated shopping lists.
+ */
+@RestController
+@RequestMapping("/api/pantry")
+public class PantryController {
+
+    private final PantryService pantryService;
+
+    public PantryController(PantryService pantryService) {
+        this.pantryService = pantryService;
+    }
+
+    /**
+     * Retrieves the pantry stock of the current tenant.
+     *
+     * @return The stock per ingredient, in the display unit of each amount.
+     */
+    @GetMapping
+    public List<PantryStock> getStock() {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        return pantryService.getStock(tenantId);
+    }
+
+    /**
+     * Sets the stock of many ingredients in one request. Each amount replaces the stock of the ingredient,
+     * an amount of 0 removes it and negative amounts are rejected; ingredients that are not given stay unchanged.
+     *
+     * @param stock The new stock per ingredient, identified by catalogue entry ID or name.
+     * @return The number of changed pantry entries, or 400 with the reason if an entry is invalid.
+     */
+    @PutMapping
+    public ResponseEntity<?> updateStock(@RequestBody List<PantryStock> stock) {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        try {
+            return ResponseEntity.ok(pantryService.updateStock(tenantId, stock));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
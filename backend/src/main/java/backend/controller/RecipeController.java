@@ -1,12 +1,20 @@
 package backend.controller;
 
 import backend.model.Recipe.Recipe;
+import backend.model.Recipe.RecipeImportResult;
+import backend.model.Recipe.RecipePage;
+import backend.model.Recipe.RecipePatch;
+import backend.model.Recipe.RecipeSummary;
 import backend.model.Recipe.Tag;
+import backend.service.RecipeImportService;
 import backend.service.RecipeService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import backend.multitenant.tenantId.TenantContext;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -16,22 +24,30 @@ import java.util.List;
 @RequestMapping("/api/recipes")
 public class RecipeController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final RecipeService recipeService;
+    private final RecipeImportService recipeImportService;
 
     /**
      * Constructor to initialize the RecipeController with a RecipeService.
      *
      * @param recipeService The service used for managing recipes.
+     * @param recipeImportService The service used for bulk imports of recipes.
      */
-    public RecipeController(RecipeService recipeService) {
+    public RecipeController(RecipeService recipeService, RecipeImportService recipeImportService) {
         this.recipeService = recipeService;
+        this.recipeImportService = recipeImportService;
     }
 
     /**
-     * Retrieves all recipes for the current tenant.
+     * Retrieves all recipes for the current tenant including their ingredients.
      *
      * @return A list of all recipes.
+     * @deprecated The response grows with the number of recipes; list views use {@link #searchRecipePage}.
      */
+    @Deprecated
     @GetMapping
     public List<Recipe> getAllRecipes() {
         String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
@@ -40,13 +56,16 @@ public class RecipeController {
 
     /**
      * Searches for recipes based on provided parameters (name, tags, cooking time, favorite).
+     * The recipes are returned with their ingredients.
      *
      * @param name Optional name of the recipe to search for.
      * @param tags Optional list of tags to filter the recipes.
      * @param cookingTime Optional cooking time to filter the recipes.
      * @param favorite Optional flag to search for favorite recipes.
      * @return A list of recipes matching the search criteria.
+     * @deprecated The response grows with the number of recipes; list views use {@link #searchRecipePage}.
      */
+    @Deprecated
     @GetMapping("/search")
     public List<Recipe> searchRecipes(
             @RequestParam(required = false) String name,
@@ -57,6 +76,74 @@ public class RecipeController {
         return recipeService.searchRecipes(tenantId, name, tags, cookingTime, favorite);
     }
 
+    /**
+     * Searches for recipe summaries with the same parameters as {@link #searchRecipes}.
+     * The summaries contain no description or ingredients; use {@link #getRecipe} for the full recipe.
+     *
+     * @param name Optional name prefix of the recipe to search for.
+     * @param tags Optional list of tags to filter the recipes.
+     * @param cookingTime Optional maximum cooking time to filter the recipes.
+     * @param favorite Optional flag to search for favorite recipes.
+     * @return A list of recipe summaries matching the search criteria.
+     * @deprecated The response grows with the number of recipes; list views use {@link #searchRecipePage}.
+     */
+    @Deprecated
+    @GetMapping("/summaries")
+    public List<RecipeSummary> searchRecipeSummaries(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) List<Tag> tags,
+            @RequestParam(required = false) Integer cookingTime,
+            @RequestParam(required = false) boolean favorite) {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        return recipeService.searchRecipeSummaries(tenantId, name, tags, cookingTime, favorite);
+    }
+
+    /**
+     * Searches for recipe summaries page by page. All filters are evaluated by the database and the
+     * recipes are sorted by name and ID, so the cursor stays stable while recipes are added. No rows are skipped
+     * with an offset, so later pages are not slower than the first one.
+     *
+     * @param name Optional name prefix of the recipe to search for.
+     * @param tags Optional list of tags to filter the recipes.
+     * @param cookingTime Optional maximum cooking time to filter the recipes.
+     * @param favorite Optional flag to search for favorite recipes.
+     * @param cursor Optional cursor returned with the previous page.
+     * @param size Optional page size, limited to {@value #MAX_PAGE_SIZE}.
+     * @return A page of recipe summaries and the cursor of the next page, or 400 if the cursor is invalid.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<RecipePage> searchRecipePage(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) List<Tag> tags,
+            @RequestParam(required = false) Integer cookingTime,
+            @RequestParam(required = false) boolean favorite,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        try {
+            return ResponseEntity.ok(recipeService.searchRecipePage(tenantId, name, tags, cookingTime, favorite, cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // Ungültiger Cursor
+        }
+    }
+
+    /**
+     * Retrieves the full recipe including description, ingredients and tags.
+     *
+     * @param id The ID of the recipe.
+     * @return The recipe, or 404 if it does not exist.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Recipe> getRecipe(@PathVariable Long id) {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        try {
+            return ResponseEntity.ok(recipeService.getRecipe(tenantId, id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).body(null); // Rezept nicht gefunden
+        }
+    }
+
     /**
      * Adds a new recipe for the current tenant.
      *
@@ -69,6 +156,20 @@ public class RecipeController {
         return recipeService.saveRecipe(tenantId, recipe);
     }
 
+    /**
+     * Imports many recipes at once from newline-delimited JSON, one recipe per line in the format of {@link #addRecipe}.
+     * The body is streamed and saved in chunks; invalid records are skipped and reported with their line number.
+     *
+     * @param body The NDJSON request body.
+     * @return The number of imported and rejected recipes and the reasons for the rejections.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "application/jsonl", "text/plain"})
+    public RecipeImportResult importRecipes(InputStream body) throws IOException {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        return recipeImportService.importRecipes(tenantId, body);
+    }
+
     /**
      * Updates an existing recipe with new details.
      *
@@ -84,22 +185,59 @@ public class RecipeController {
     }
 
     /**
-     * Toggles the favorite status of a recipe.
+     * Changes only the given fields of a recipe. Omitted fields stay unchanged; if ingredients are given, they
+     * replace the ingredients of the recipe, matched by their ID.
      *
-     * @param id The ID of the recipe whose favorite status is to be toggled.
-     * @return The updated recipe with the new favorite status.
+     * @param id The ID of the recipe to be updated.
+     * @param patch The fields to change.
+     * @return The updated recipe, or 404 if it does not exist.
      */
-    @PutMapping("/{id}/favorite")
-    public ResponseEntity<Recipe> toggleFavorite(@PathVariable Long id) {
+    @PatchMapping("/{id}")
+    public ResponseEntity<Recipe> patchRecipe(@PathVariable Long id, @RequestBody RecipePatch patch) {
         String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
         try {
-            Recipe updatedRecipe = recipeService.toggleFavorite(tenantId, id);
-            return ResponseEntity.ok(updatedRecipe);
+            return ResponseEntity.ok(recipeService.patchRecipe(tenantId, id, patch));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(404).body(null); // Rezept nicht gefunden
         }
     }
 
+    /**
+     * Sets or toggles the favorite status of a recipe without loading it.
+     * With the value parameter the request is idempotent, so repeated clicks with the same state cause no write.
+     *
+     * @param id The ID of the recipe whose favorite status is to be changed.
+     * @param value Optional new favorite status; without it the status is toggled.
+     * @return 204 if the status was changed, or 404 if the recipe does not exist.
+     */
+    @PutMapping("/{id}/favorite")
+    public ResponseEntity<Void> toggleFavorite(@PathVariable Long id, @RequestParam(required = false) Boolean value) {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        try {
+            if (value == null) {
+                recipeService.toggleFavorite(tenantId, id);
+            } else {
+                recipeService.setFavorite(tenantId, id, value);
+            }
+            return ResponseEntity.noContent().build();
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).build(); // Rezept nicht gefunden
+        }
+    }
+
+    /**
+     * Sets the favorite status of many recipes in one update statement.
+     *
+     * @param value The new favorite status.
+     * @param ids The IDs of the recipes.
+     * @return The number of recipes whose favorite status changed.
+     */
+    @PutMapping("/favorite")
+    public ResponseEntity<Integer> setFavorites(@RequestParam boolean value, @RequestBody List<Long> ids) {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        return ResponseEntity.ok(recipeService.setFavorites(tenantId, ids, value));
+    }
+
     /**
      * Deletes a recipe by its ID.
      *
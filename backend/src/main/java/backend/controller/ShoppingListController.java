@@ -1,10 +1,11 @@
 package backend.controller;
 
-import backend.model.MealPlan.MealPlan;
 import backend.model.ShoppingList.ShoppingItem;
-import backend.model.ShoppingList.ShoppingList;
-import backend.repository.MealPlanRepository;
+import backend.model.ShoppingList.ShoppingListSync;
 import backend.multitenant.tenantId.TenantContext;
+import backend.service.ShoppingListService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -13,26 +14,29 @@ import java.util.List;
 
 /**
  * Controller for managing the shopping list. Provides an endpoint to generate a shopping list
- * based on MealPlans for a specific tenant.
+ * based on MealPlans for a specific tenant, and endpoints for stored lists whose items can be checked off
+ * and synchronized by version.
  */
 @RestController
 @RequestMapping("/api/shopping-list")
 public class ShoppingListController {
 
     @Autowired
-    private MealPlanRepository mealPlanRepository;  // Repository for MealPlans
+    private ShoppingListService shoppingListService;  // Service for generating shopping lists
 
     /**
      * Generates a shopping list for a given date range based on the tenant's meal plans.
      *
      * @param startDate The start date for the shopping list.
      * @param endDate The end date for the shopping list.
+     * @param subtractPantry Whether the pantry stock is subtracted (default true).
      * @return A list of shopping items required for the specified date range.
      * @throws IllegalStateException if the tenant ID is not set in the context.
      */
     @PostMapping("/generate")
     public List<ShoppingItem> generateShoppingList(@RequestParam("startDate") LocalDate startDate,
-                                                   @RequestParam("endDate") LocalDate endDate) {
+                                                   @RequestParam("endDate") LocalDate endDate,
+                                                   @RequestParam(defaultValue = "true") boolean subtractPantry) {
         // Retrieve the Tenant ID from the current context
         String tenantId = TenantContext.getCurrentTenant();
 
@@ -41,14 +45,67 @@ public class ShoppingListController {
             throw new IllegalStateException("Tenant ID is not set in the context.");
         }
 
-        // Find all meal plans for the current tenant
-        List<MealPlan> allMealPlans = mealPlanRepository.findByTenantId(tenantId);
+        // Aggregate only the meal plans within the requested range and return the items
+        return shoppingListService.generateShoppingList(tenantId, startDate, endDate, subtractPantry);
+    }
 
-        // Create a new shopping list and generate the items
-        ShoppingList shoppingList = new ShoppingList(startDate, endDate);  // Constructor with start and end date
-        shoppingList.generateShoppingList(allMealPlans); // Generate the shopping list based on meal plans
+    /**
+     * Stores the shopping list of a date range, or updates the stored list with the current meal plans.
+     * Items whose total did not change keep their checked state. The pantry stock is always subtracted.
+     *
+     * @param startDate The start date for the shopping list.
+     * @param endDate The end date for the shopping list.
+     * @return The stored list with its version and items, or 400 if the range is invalid.
+     */
+    @PostMapping("/lists")
+    public ResponseEntity<ShoppingListSync> saveShoppingList(@RequestParam("startDate") LocalDate startDate,
+                                                             @RequestParam("endDate") LocalDate endDate) {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        if (tenantId == null) {
+            throw new IllegalStateException("Tenant ID is not set in the context.");
+        }
+        try {
+            return ResponseEntity.ok(shoppingListService.saveShoppingList(tenantId, startDate, endDate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // Ungültiger Zeitraum
+        }
+    }
 
-        // Return the generated shopping list items
-        return shoppingList.getItems();
+    /**
+     * Returns a stored shopping list. With the version the client already has, only the items changed
+     * since then are returned, including deleted ones.
+     *
+     * @param id The ID of the stored list.
+     * @param since Optional version known by the client.
+     * @return The list version and the (changed) items, or 404 if the list does not exist.
+     */
+    @GetMapping("/lists/{id}")
+    public ResponseEntity<ShoppingListSync> getShoppingList(@PathVariable Long id,
+                                                            @RequestParam(required = false) Long since) {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        try {
+            return ResponseEntity.ok(shoppingListService.getShoppingList(tenantId, id, since));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).build(); // Liste nicht gefunden
+        }
+    }
+
+    /**
+     * Checks or unchecks an item of a stored shopping list.
+     *
+     * @param id The ID of the stored list.
+     * @param itemId The ID of the item.
+     * @param value Whether the item was bought.
+     * @return The new list version and the item, or 404 if the list or item does not exist.
+     */
+    @PutMapping("/lists/{id}/items/{itemId}/checked")
+    public ResponseEntity<ShoppingListSync> setChecked(@PathVariable Long id, @PathVariable Long itemId,
+                                                       @RequestParam boolean value) {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        try {
+            return ResponseEntity.ok(shoppingListService.setChecked(tenantId, id, itemId, value));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).build(); // Liste oder Eintrag nicht gefunden
+        }
     }
 }
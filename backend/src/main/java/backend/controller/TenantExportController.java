@@ -0,0 +1,73 @@
+package backend.controller;
+
+import backend.model.Recipe.RecipeImportResult;
+import backend.multitenant.tenantId.TenantContext;
+import backend.service.RecipeImportService;
+import backend.service.TenantExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+/**
+ * Controller for backups of a tenant. Provides endpoints to export all recipes and meal plans and to import them again.
+ */
+@RestController
+@RequestMapping("/api")
+public class TenantExportController {
+
+    private final TenantExportService exportService;
+    private final RecipeImportService importService;
+
+    /**
+     * Constructor to initialize the TenantExportController with the export and import services.
+     *
+     * @param exportService The service writing the export.
+     * @param importService The service reading an export.
+     */
+    public TenantExportController(TenantExportService exportService, RecipeImportService importService) {
+        this.exportService = exportService;
+        this.importService = importService;
+    }
+
+    /**
+     * Exports all recipes and meal plans of the current tenant as gzip-compressed NDJSON.
+     * The records are written while they are read from the database, the response is never held in memory.
+     *
+     * @return The export as file download.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        StreamingResponseBody body = output -> exportService.export(tenantId, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("shopping-planner-export-" + LocalDate.now() + ".ndjson.gz")
+                        .build().toString())
+                .body(body);
+    }
+
+    /**
+     * Imports an export of {@link #export}, or plain NDJSON recipes. New recipes and meal plans are created for the
+     * current tenant; days that already have a meal plan are reported as rejected.
+     *
+     * @param body The export file.
+     * @return The number of imported and rejected records and the reasons for the rejections.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = {"application/gzip", "application/x-ndjson", "application/jsonl", "application/octet-stream"})
+    public RecipeImportResult importExport(InputStream body) throws IOException {
+        String tenantId = TenantContext.getCurrentTenant(); // tenantId holen
+        return importService.importRecipes(tenantId, body);
+    }
+}
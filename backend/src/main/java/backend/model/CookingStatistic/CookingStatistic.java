@@ -16,7 +16,8 @@ import java.util.Map;
 public class CookingStatistic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cooking_statistic_seq")
+    @SequenceGenerator(name = "cooking_statistic_seq", sequenceName = "cooking_statistic_seq", allocationSize = 50)
     private Long id;
 
     // Getters und Setters
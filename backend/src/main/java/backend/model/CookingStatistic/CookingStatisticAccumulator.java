@@ -0,0 +1,282 @@
+package backend.model.CookingStatistic;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.Tag;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Collects all values needed for a {@link CookingStatistic} in a single pass over the meal plans.
+ * Every meal slot is visited exactly once and all sums are kept in primitive counters; tags are
+ * counted in an array indexed by {@link Tag#ordinal()} and ingredients by the ID of their catalogue entry.
+ */
+public class CookingStatisticAccumulator {
+
+    private static final Tag[] TAGS = Tag.values();
+    private static final int TOP_RECIPES = 10;
+    private static final int TOP_INGREDIENTS = 20;
+
+    private long mealPlanCount;
+    private long portions;
+    private long cookingTime;
+    private long recipeCount;
+    private double recipeCalories;
+    private double dailyCalories;
+
+    // Percentages weighted by portion size, summed over all meals
+    private double proteinPercentagePerPortion;
+    private double fatPercentagePerPortion;
+    private double carbohydratePercentagePerPortion;
+
+    // Per-day averages of the weighted percentages, summed over all days
+    private double proteinPercentagePerDay;
+    private double fatPercentagePerDay;
+    private double carbohydratePercentagePerDay;
+
+    private final long[] tagCounts = new long[TAGS.length];
+    private final Map<String, long[]> recipeCounts = new HashMap<>();
+    private final Map<Long, int[]> ingredientCounts = new HashMap<>();
+
+    // Running values of the meal plan that is currently added
+    private double dayCalories;
+    private double dayProtein;
+    private double dayFat;
+    private double dayCarbohydrate;
+
+    /**
+     * Adds one meal plan (one day) to the statistic.
+     *
+     * @param mealPlan the meal plan to add
+     */
+    public void add(MealPlan mealPlan) {
+        int breakfastPortions = mealPlan.getBreakfastPortionSize();
+        int lunchPortions = mealPlan.getLunchPortionSize();
+        int dinnerPortions = mealPlan.getDinnerPortionSize();
+        int dayPortions = breakfastPortions + lunchPortions + dinnerPortions;
+
+        dayCalories = 0.0;
+        dayProtein = 0.0;
+        dayFat = 0.0;
+        dayCarbohydrate = 0.0;
+
+        addMeal(mealPlan.getBreakfastRecipe(), breakfastPortions, breakfastPortions);
+        addMeal(mealPlan.getLunchRecipe(), lunchPortions, lunchPortions);
+        // The per-portion distribution has always counted dinner once instead of per portion
+        addMeal(mealPlan.getDinnerRecipe(), dinnerPortions, 1);
+
+        dailyCalories += dayCalories;
+        proteinPercentagePerDay += dayProtein / dayPortions;
+        fatPercentagePerDay += dayFat / dayPortions;
+        carbohydratePercentagePerDay += dayCarbohydrate / dayPortions;
+        portions += dayPortions;
+        mealPlanCount++;
+    }
+
+    /**
+     * Adds the pre-aggregated values of one day.
+     *
+     * @param rollup the rollup of the day to add
+     */
+    public void add(CookingStatisticRollup rollup) {
+        mealPlanCount++;
+        portions += rollup.getPortions();
+        cookingTime += rollup.getCookingTime();
+        recipeCount += rollup.getRecipeCount();
+        recipeCalories += rollup.getRecipeCalories();
+        dailyCalories += rollup.getCalories();
+
+        proteinPercentagePerPortion += rollup.getProteinPercentagePerPortion();
+        fatPercentagePerPortion += rollup.getFatPercentagePerPortion();
+        carbohydratePercentagePerPortion += rollup.getCarbohydratePercentagePerPortion();
+
+        proteinPercentagePerDay += rollup.getProteinPercentagePerDay();
+        fatPercentagePerDay += rollup.getFatPercentagePerDay();
+        carbohydratePercentagePerDay += rollup.getCarbohydratePercentagePerDay();
+
+        rollup.getTagCounts().forEach((tag, count) -> tagCounts[tag.ordinal()] += count);
+        rollup.getRecipeCounts().forEach((name, count) -> recipeCounts.computeIfAbsent(name, k -> new long[1])[0] += count);
+        rollup.getIngredientCounts().forEach((id, count) -> ingredientCounts.computeIfAbsent(id, k -> new int[1])[0] += count);
+    }
+
+    /**
+     * Writes the collected sums into a rollup. The accumulator is expected to contain
+     * the meal plan of the rollup's day only.
+     *
+     * @param rollup the rollup to overwrite
+     */
+    public void writeTo(CookingStatisticRollup rollup) {
+        rollup.setPortions(portions);
+        rollup.setCookingTime(cookingTime);
+        rollup.setRecipeCount(recipeCount);
+        rollup.setRecipeCalories(recipeCalories);
+        rollup.setCalories(dailyCalories);
+
+        rollup.setProteinPercentagePerPortion(proteinPercentagePerPortion);
+        rollup.setFatPercentagePerPortion(fatPercentagePerPortion);
+        rollup.setCarbohydratePercentagePerPortion(carbohydratePercentagePerPortion);
+
+        rollup.setProteinPercentagePerDay(proteinPercentagePerDay);
+        rollup.setFatPercentagePerDay(fatPercentagePerDay);
+        rollup.setCarbohydratePercentagePerDay(carbohydratePercentagePerDay);
+
+        rollup.getTagCounts().clear();
+        for (int i = 0; i < tagCounts.length; i++) {
+            if (tagCounts[i] > 0) {
+                rollup.getTagCounts().put(TAGS[i], tagCounts[i]);
+            }
+        }
+        rollup.getRecipeCounts().clear();
+        recipeCounts.forEach((name, count) -> rollup.getRecipeCounts().put(name, count[0]));
+        rollup.getIngredientCounts().clear();
+        ingredientCounts.forEach((id, count) -> rollup.getIngredientCounts().put(id, count[0]));
+    }
+
+    /**
+     * Adds a single meal slot.
+     *
+     * @param recipe            the recipe of the slot, may be null
+     * @param portionSize       the portion size of the slot
+     * @param distributionWeight the weight used for the per-portion nutrient distribution
+     */
+    private void addMeal(Recipe recipe, int portionSize, int distributionWeight) {
+        if (recipe == null) {
+            return;
+        }
+
+        double calories = recipe.getTotalCalories();
+        double protein = recipe.getProteinPercentage();
+        double fat = recipe.getFatPercentage();
+        double carbohydrate = recipe.getCarbohydratePercentage();
+
+        recipeCount++;
+        recipeCalories += calories;
+        dayCalories += calories * portionSize;
+        if (recipe.getCookingTime() != null) {
+            cookingTime += recipe.getCookingTime();
+        }
+
+        proteinPercentagePerPortion += protein * distributionWeight;
+        fatPercentagePerPortion += fat * distributionWeight;
+        carbohydratePercentagePerPortion += carbohydrate * distributionWeight;
+
+        dayProtein += protein * portionSize;
+        dayFat += fat * portionSize;
+        dayCarbohydrate += carbohydrate * portionSize;
+
+        if (recipe.getTags() != null) {
+            for (Tag tag : recipe.getTags()) {
+                tagCounts[tag.ordinal()]++;
+            }
+        }
+
+        recipeCounts.computeIfAbsent(recipeName(recipe), k -> new long[1])[0]++;
+
+        if (recipe.getIngredients() != null) {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                if (ingredient.getCatalogEntryId() != null) {
+                    ingredientCounts.computeIfAbsent(ingredient.getCatalogEntryId(), k -> new int[1])[0]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the catalogue entry IDs of the most used ingredients, most used first.
+     * Their names have to be passed to {@link #toStatistic(Map)}.
+     *
+     * @return the IDs of the top ingredients
+     */
+    public List<Long> getTopIngredientIds() {
+        return ingredientCounts.entrySet()
+                .stream()
+                .sorted(Comparator.comparingInt((Map.Entry<Long, int[]> e) -> e.getValue()[0]).reversed())
+                .limit(TOP_INGREDIENTS)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Builds the statistic from the collected values.
+     *
+     * @param ingredientNames the names of the ingredients returned by {@link #getTopIngredientIds()}
+     * @return the calculated statistic, or an empty statistic if no meal plan was added
+     */
+    public CookingStatistic toStatistic(Map<Long, String> ingredientNames) {
+        CookingStatistic statistic = new CookingStatistic();
+        if (mealPlanCount == 0) {
+            return statistic;
+        }
+
+        statistic.setAveragePortions(portions / (mealPlanCount * 3));
+        statistic.setAverageCookingTime(cookingTime / (mealPlanCount * 3));
+        statistic.setAttributes(tagUsage());
+        statistic.setFavouriteRecipes(topRecipes());
+        statistic.setFavouriteIngredients(topIngredients(ingredientNames));
+        statistic.setAmountOfCookedRecipes((long) statistic.getFavouriteRecipes().size());
+        statistic.setAverageCaloriesPerRecipe(recipeCount == 0 ? 0.0 : recipeCalories / recipeCount);
+        statistic.setAverageCaloriesPerDay(dailyCalories / mealPlanCount);
+
+        Map<String, Double> distributionPerPortion = new HashMap<>();
+        if (portions > 0) {
+            distributionPerPortion.put("protein", proteinPercentagePerPortion / portions);
+            distributionPerPortion.put("fat", fatPercentagePerPortion / portions);
+            distributionPerPortion.put("carbohydrate", carbohydratePercentagePerPortion / portions);
+        }
+        statistic.setAverageNutrientDistributionPerRecipe(distributionPerPortion);
+
+        Map<String, Double> distributionPerDay = new HashMap<>();
+        distributionPerDay.put("protein", proteinPercentagePerDay / mealPlanCount);
+        distributionPerDay.put("fat", fatPercentagePerDay / mealPlanCount);
+        distributionPerDay.put("carbohydrate", carbohydratePercentagePerDay / mealPlanCount);
+        statistic.setAverageNutrientDistributionPerDay(distributionPerDay);
+
+        return statistic;
+    }
+
+    private Map<Tag, Long> tagUsage() {
+        Map<Tag, Long> usage = new HashMap<>();
+        for (int i = 0; i < tagCounts.length; i++) {
+            if (tagCounts[i] > 0) {
+                usage.put(TAGS[i], tagCounts[i]);
+            }
+        }
+        return usage;
+    }
+
+    // Recipes without a name are counted together, the name is the key of the stored counts
+    private static String recipeName(Recipe recipe) {
+        String name = recipe.getName();
+        return name == null || name.isBlank() ? Recipe.UNNAMED : name;
+    }
+
+    private Map<String, Long> topRecipes() {
+        return recipeCounts.entrySet()
+                .stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed())
+                .limit(TOP_RECIPES)
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        e -> e.getValue()[0],
+                        (e1, e2) -> e1,
+                        LinkedHashMap::new // Preserve sorted order
+                ));
+    }
+
+    private Map<String, Integer> topIngredients(Map<Long, String> ingredientNames) {
+        Map<String, Integer> top = new LinkedHashMap<>(); // Preserve sorted order
+        for (Long id : getTopIngredientIds()) {
+            String name = ingredientNames.get(id);
+            if (name != null) {
+                top.putIfAbsent(name, ingredientCounts.get(id)[0]);
+            }
+        }
+        return top;
+    }
+}
@@ -0,0 +1,77 @@
+package backend.model.CookingStatistic;
+
+import backend.model.Recipe.Tag;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pre-aggregated statistic values of one tenant for one day.
+ * A rollup holds the sums the {@link CookingStatisticAccumulator} collects for the meal plan of that day,
+ * so statistics for a long range only have to add up one row per day.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "CookingStatisticRollup",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"tenant_id", "date"}))
+public class CookingStatisticRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cooking_statistic_rollup_seq")
+    @SequenceGenerator(name = "cooking_statistic_rollup_seq", sequenceName = "cooking_statistic_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    private long portions;
+    private long cookingTime;
+    private long recipeCount;
+    private double recipeCalories;
+    private double calories;
+
+    private double proteinPercentagePerPortion;
+    private double fatPercentagePerPortion;
+    private double carbohydratePercentagePerPortion;
+
+    private double proteinPercentagePerDay;
+    private double fatPercentagePerDay;
+    private double carbohydratePercentagePerDay;
+
+    @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
+    @MapKeyColumn(name = "tag")
+    @MapKeyEnumerated(EnumType.STRING)
+    @Column(name = "amount")
+    private Map<Tag, Long> tagCounts = new HashMap<>();
+
+    @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
+    @MapKeyColumn(name = "recipe")
+    @Column(name = "amount")
+    private Map<String, Long> recipeCounts = new HashMap<>();
+
+    @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
+    @MapKeyColumn(name = "ingredient_id")
+    @Column(name = "amount")
+    private Map<Long, Integer> ingredientCounts = new HashMap<>(); // Keyed by the ID of the ingredient catalogue entry
+
+    // Standard Constructor
+    public CookingStatisticRollup() {}
+
+    public CookingStatisticRollup(String tenantId, LocalDate date) {
+        this.tenantId = tenantId;
+        this.date = date;
+    }
+}
@@ -12,7 +12,8 @@ import java.time.LocalDate;
 public class MealPlan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meal_plan_seq")
+    @SequenceGenerator(name = "meal_plan_seq", sequenceName = "meal_plan_seq", allocationSize = 50)
     private Long id;
 
     private LocalDate date; // Das genaue Datum für den MealPlan
@@ -2,6 +2,8 @@ package backend.model.MealPlan;
 
 import backend.model.Recipe.Recipe;
 
+import java.time.LocalDate;
+
 public class MealPlanDTO {
 
     private String date;
@@ -43,6 +45,18 @@ public class MealPlanDTO {
         this.tenantId = mealPlan.getTenantId();
     }
 
+    // Konstruktor für den Export, nur die IDs der Rezepte werden geladen
+    public MealPlanDTO(LocalDate date, Long breakfastRecipeId, int breakfastPortionSize, Long lunchRecipeId, int lunchPortionSize,
+                       Long dinnerRecipeId, int dinnerPortionSize) {
+        this.date = date.toString();
+        this.breakfastRecipeId = breakfastRecipeId;
+        this.breakfastPortionSize = breakfastPortionSize;
+        this.lunchRecipeId = lunchRecipeId;
+        this.lunchPortionSize = lunchPortionSize;
+        this.dinnerRecipeId = dinnerRecipeId;
+        this.dinnerPortionSize = dinnerPortionSize;
+    }
+
     // Getter und Setter für tenantId
     public String getTenantId() {
         return tenantId;
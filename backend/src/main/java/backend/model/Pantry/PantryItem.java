@@ -0,0 +1,94 @@
+package backend.model.Pantry;
+
+import backend.model.Recipe.UnitDimension;
+import jakarta.persistence.*;
+
+/**
+ * Stock of one catalogue ingredient in the pantry of a tenant. The amount is stored in the base unit of its
+ * dimension (grams for masses), so it can be subtracted from the shopping list demand without conversion.
+ */
+@Entity
+@Table(name = "PantryItem",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"tenant_id", "catalog_entry_id", "dimension"}))
+public class PantryItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pantry_item_seq")
+    @SequenceGenerator(name = "pantry_item_seq", sequenceName = "pantry_item_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    // ID of the IngredientCatalogEntry
+    @Column(name = "catalog_entry_id", nullable = false)
+    private Long catalogEntryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UnitDimension dimension;
+
+    private double baseAmount; // Amount in the base unit of the dimension
+
+    /**
+     * Default constructor.
+     */
+    public PantryItem() {}
+
+    /**
+     * Constructor to create the stock of an ingredient.
+     *
+     * @param tenantId The tenant ID for multitenancy.
+     * @param catalogEntryId The ID of the catalogue ingredient.
+     * @param dimension The dimension of the amount.
+     * @param baseAmount The amount in the base unit of the dimension.
+     */
+    public PantryItem(String tenantId, Long catalogEntryId, UnitDimension dimension, double baseAmount) {
+        this.tenantId = tenantId;
+        this.catalogEntryId = catalogEntryId;
+        this.dimension = dimension;
+        this.baseAmount = baseAmount;
+    }
+
+    // Getter and Setter methods
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Long getCatalogEntryId() {
+        return catalogEntryId;
+    }
+
+    public void setCatalogEntryId(Long catalogEntryId) {
+        this.catalogEntryId = catalogEntryId;
+    }
+
+    public UnitDimension getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(UnitDimension dimension) {
+        this.dimension = dimension;
+    }
+
+    public double getBaseAmount() {
+        return baseAmount;
+    }
+
+    public void setBaseAmount(double baseAmount) {
+        this.baseAmount = baseAmount;
+    }
+}
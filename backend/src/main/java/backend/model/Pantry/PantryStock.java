@@ -0,0 +1,61 @@
+package backend.model.Pantry;
+
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.UnitDimension;
+
+/**
+ * Stock of one ingredient as sent and returned by the pantry endpoints.
+ * The ingredient is identified by its catalogue entry ID or, if no ID is given, by its name.
+ * An amount of 0 removes the ingredient from the pantry.
+ */
+public class PantryStock {
+
+    private Long ingredientId;
+    private String ingredientName;
+    private double amount;
+    private QuantityUnit unit;
+
+    public PantryStock() {}
+
+    // Used by the pantry query: converts the stored base amount to its display unit
+    public PantryStock(Long ingredientId, String ingredientName, UnitDimension dimension, double baseAmount) {
+        this.ingredientId = ingredientId;
+        this.ingredientName = ingredientName;
+        this.unit = QuantityUnit.displayUnit(dimension, baseAmount);
+        this.amount = unit.fromBase(baseAmount);
+    }
+
+    // Getter and Setter methods
+
+    public Long getIngredientId() {
+        return ingredientId;
+    }
+
+    public void setIngredientId(Long ingredientId) {
+        this.ingredientId = ingredientId;
+    }
+
+    public String getIngredientName() {
+        return ingredientName;
+    }
+
+    public void setIngredientName(String ingredientName) {
+        this.ingredientName = ingredientName;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    public QuantityUnit getUnit() {
+        return unit;
+    }
+
+    public void setUnit(QuantityUnit unit) {
+        this.unit = unit;
+    }
+}
@@ -2,26 +2,42 @@ package backend.model.Recipe;
 
 import backend.multitenant.tenantId.TenantContext;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
+import java.util.Objects;
+import java.util.function.Function;
+
 /**
  * Represents an ingredient used in a recipe. Contains information about the ingredient's name,
  * quantity, nutritional values (calories, proteins, fats, carbohydrates), and its associated recipe.
+ * The unit and the nutritional values are master data of the {@link IngredientCatalogEntry}: a recipe ingredient
+ * only stores the values that differ from its entry and reads the others from the entry.
  */
 @Entity
 @Table(name = "Ingredient")
 public class Ingredient {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredient_seq")
+    @SequenceGenerator(name = "ingredient_seq", sequenceName = "ingredient_seq", allocationSize = 50)
     private Long id;
 
     private String name;
     private String quantity;
 
+    // Unit and nutritional values that differ from the catalogue entry, null where the entry's value applies
     @Enumerated(EnumType.STRING)
     private QuantityUnit unit;
 
+    // Numeric quantity and quantity in grams, derived from quantity and unit when they are set.
+    // Null if the quantity is missing or not a number.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Double amount;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Double grams;
+
     private Double calories;       // Calories per 100g of the ingredient
     private Double proteins;       // Proteins per 100g of the ingredient
     private Double fats;           // Fats per 100g of the ingredient
@@ -32,6 +48,16 @@ public class Ingredient {
     @JsonBackReference
     private Recipe recipe;
 
+    // Shared master data of all ingredients with this name, set by IngredientCatalogService before saving
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "catalog_entry_id")
+    @JsonIgnore
+    private IngredientCatalogEntry catalogEntry;
+
+    // Read-only view of the foreign key, so the ID is available without loading the catalogue entry
+    @Column(name = "catalog_entry_id", insertable = false, updatable = false)
+    private Long catalogEntryId;
+
     /**
      * Default constructor.
      */
@@ -50,40 +76,107 @@ public class Ingredient {
         this.quantity = quantity;
         this.unit = unit;
         this.recipe = recipe;
+        normalizeQuantity();
+    }
+
+    /**
+     * Parses a quantity as entered by the user. Surrounding whitespace is ignored and a decimal comma is accepted.
+     *
+     * @param quantity The quantity as text.
+     * @return The quantity as number, or null if the text is empty or not a number.
+     */
+    public static Double parseAmount(String quantity) {
+        if (quantity == null || quantity.isBlank()) {
+            return null;
+        }
+        try {
+            double amount = Double.parseDouble(quantity.trim().replace(',', '.'));
+            return Double.isFinite(amount) ? amount : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Copies the user-editable values of another ingredient. Only values that differ are set, so an unchanged
+     * ingredient stays clean and Hibernate does not update its row.
+     *
+     * @param source The ingredient with the new values.
+     * @return true if any value changed.
+     */
+    public boolean copyValuesFrom(Ingredient source) {
+        boolean changed = false;
+        if (!Objects.equals(name, source.getName())) {
+            setName(source.getName());
+            changed = true;
+        }
+        if (!Objects.equals(quantity, source.getQuantity()) || getUnit() != source.getUnit()) {
+            this.quantity = source.getQuantity();
+            setUnit(source.getUnit());
+            changed = true;
+        }
+        if (!Objects.equals(getCalories(), source.getCalories())
+                || !Objects.equals(getProteins(), source.getProteins())
+                || !Objects.equals(getFats(), source.getFats())
+                || !Objects.equals(getCarbohydrates(), source.getCarbohydrates())) {
+            setCalories(source.getCalories());
+            setProteins(source.getProteins());
+            setFats(source.getFats());
+            setCarbohydrates(source.getCarbohydrates());
+            changed = true;
+        }
+        return changed;
+    }
+
+    // The only place the quantity text is parsed; nutrition, shopping lists and statistics read amount and grams
+    private void normalizeQuantity() {
+        QuantityUnit unit = getUnit();
+        this.amount = parseAmount(quantity);
+        this.grams = amount != null && unit != null ? unit.toGrams(amount) : null; // null for units that are no mass
+    }
+
+    // Returns the value to store: null if the catalogue entry has the same value
+    private <T> T override(T value, Function<IngredientCatalogEntry, T> entryValue) {
+        return catalogEntry != null && Objects.equals(value, entryValue.apply(catalogEntry)) ? null : value;
+    }
+
+    // Returns the stored value, or the entry's value if the ingredient stores none
+    private <T> T valueOrEntry(T value, Function<IngredientCatalogEntry, T> entryValue) {
+        return value != null || catalogEntry == null ? value : entryValue.apply(catalogEntry);
     }
 
     // Getter and Setter methods
 
     public Double getCalories() {
-        return calories;
+        return valueOrEntry(calories, IngredientCatalogEntry::getCalories);
     }
 
     public void setCalories(final Double calories) {
-        this.calories = calories;
+        this.calories = override(calories, IngredientCatalogEntry::getCalories);
     }
 
     public Double getProteins() {
-        return proteins;
+        return valueOrEntry(proteins, IngredientCatalogEntry::getProteins);
     }
 
     public void setProteins(final Double proteins) {
-        this.proteins = proteins;
+        this.proteins = override(proteins, IngredientCatalogEntry::getProteins);
     }
 
     public Double getFats() {
-        return fats;
+        return valueOrEntry(fats, IngredientCatalogEntry::getFats);
     }
 
     public void setFats(final Double fats) {
-        this.fats = fats;
+        this.fats = override(fats, IngredientCatalogEntry::getFats);
     }
 
     public Double getCarbohydrates() {
-        return carbohydrates;
+        return valueOrEntry(carbohydrates, IngredientCatalogEntry::getCarbohydrates);
     }
 
     public void setCarbohydrates(final Double carbohydrates) {
-        this.carbohydrates = carbohydrates;
+        this.carbohydrates = override(carbohydrates, IngredientCatalogEntry::getCarbohydrates);
     }
 
     public Long getId() {
@@ -108,14 +201,59 @@ public class Ingredient {
 
     public void setQuantity(final String quantity) {
         this.quantity = quantity;
+        normalizeQuantity();
     }
 
     public QuantityUnit getUnit() {
-        return unit;
+        return valueOrEntry(unit, IngredientCatalogEntry::getUnit);
     }
 
     public void setUnit(final QuantityUnit unit) {
-        this.unit = unit;
+        this.unit = override(unit, IngredientCatalogEntry::getUnit);
+        normalizeQuantity();
+    }
+
+    public Double getAmount() {
+        return amount;
+    }
+
+    public Double getGrams() {
+        return grams;
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Long getCatalogEntryId() {
+        if (catalogEntryId != null) {
+            return catalogEntryId;
+        }
+        // Only a newly assigned entry can be set without the column, so this never initializes a lazy proxy
+        return catalogEntry != null ? catalogEntry.getId() : null;
+    }
+
+    @JsonIgnore
+    public IngredientCatalogEntry getCatalogEntry() {
+        return catalogEntry;
+    }
+
+    /**
+     * Links the ingredient to a catalogue entry. The unit and nutritional values of the ingredient stay the same;
+     * only those that differ from the new entry are stored.
+     *
+     * @param catalogEntry The catalogue entry of the ingredient's name.
+     */
+    public void setCatalogEntry(final IngredientCatalogEntry catalogEntry) {
+        QuantityUnit unit = getUnit();
+        Double calories = getCalories();
+        Double proteins = getProteins();
+        Double fats = getFats();
+        Double carbohydrates = getCarbohydrates();
+        this.catalogEntry = catalogEntry;
+        this.catalogEntryId = null;
+        setUnit(unit);
+        setCalories(calories);
+        setProteins(proteins);
+        setFats(fats);
+        setCarbohydrates(carbohydrates);
     }
 
     public Recipe getRecipe() {
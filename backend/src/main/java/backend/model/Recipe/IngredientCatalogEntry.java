@@ -0,0 +1,164 @@
+package backend.model.Recipe;
+
+import jakarta.persistence.*;
+
+import java.util.Locale;
+
+/**
+ * Master data of one ingredient of a tenant. Every recipe ingredient references the entry with the same normalized name,
+ * so statistics and shopping lists can group ingredients by the entry ID instead of comparing names.
+ * The entry holds the canonical unit and the nutritional values per 100g, taken from the first recipe ingredient
+ * with its name; recipe ingredients only store the values that differ from them.
+ * Ingredients without a name share the entry with the empty normalized name, so they are still counted.
+ */
+@Entity
+@Table(name = "IngredientCatalogEntry",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"tenant_id", "normalized_name"}))
+public class IngredientCatalogEntry {
+
+    /**
+     * Name of the entry shared by the ingredients without a name.
+     */
+    public static final String UNNAMED = "Unbenannte Zutat";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredient_catalog_entry_seq")
+    @SequenceGenerator(name = "ingredient_catalog_entry_seq", sequenceName = "ingredient_catalog_entry_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Result of normalize(name)
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+
+    @Enumerated(EnumType.STRING)
+    private QuantityUnit unit;
+
+    private Double calories;       // Calories per 100g of the ingredient
+    private Double proteins;       // Proteins per 100g of the ingredient
+    private Double fats;           // Fats per 100g of the ingredient
+    private Double carbohydrates;  // Carbohydrates per 100g of the ingredient
+
+    /**
+     * Default constructor.
+     */
+    public IngredientCatalogEntry() {}
+
+    /**
+     * Constructor to create a catalogue entry from the first recipe ingredient with this name.
+     *
+     * @param tenantId The tenant ID for multitenancy.
+     * @param name The name of the ingredient as entered; a blank name creates the entry {@value #UNNAMED}.
+     */
+    public IngredientCatalogEntry(String tenantId, String name) {
+        this.tenantId = tenantId;
+        this.normalizedName = normalize(name);
+        this.name = normalizedName.isEmpty() ? UNNAMED : name.trim();
+    }
+
+    /**
+     * Constructor to create a catalogue entry from the first recipe ingredient with this name.
+     * The unit and nutritional values of the ingredient become those of the entry.
+     *
+     * @param tenantId The tenant ID for multitenancy.
+     * @param ingredient The recipe ingredient; a blank name creates the entry {@value #UNNAMED}.
+     */
+    public IngredientCatalogEntry(String tenantId, Ingredient ingredient) {
+        this(tenantId, ingredient.getName());
+        this.unit = ingredient.getUnit();
+        this.calories = ingredient.getCalories();
+        this.proteins = ingredient.getProteins();
+        this.fats = ingredient.getFats();
+        this.carbohydrates = ingredient.getCarbohydrates();
+    }
+
+    /**
+     * Normalizes an ingredient name or search query, so that names differing only in case or whitespace
+     * share one entry: trimmed, lower case, single spaces. Null and blank names become the empty string.
+     *
+     * @param name the raw name
+     * @return the normalized name
+     */
+    public static String normalize(String name) {
+        return name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Getter and Setter methods
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    public void setNormalizedName(String normalizedName) {
+        this.normalizedName = normalizedName;
+    }
+
+    public QuantityUnit getUnit() {
+        return unit;
+    }
+
+    public void setUnit(QuantityUnit unit) {
+        this.unit = unit;
+    }
+
+    public Double getCalories() {
+        return calories;
+    }
+
+    public void setCalories(Double calories) {
+        this.calories = calories;
+    }
+
+    public Double getProteins() {
+        return proteins;
+    }
+
+    public void setProteins(Double proteins) {
+        this.proteins = proteins;
+    }
+
+    public Double getFats() {
+        return fats;
+    }
+
+    public void setFats(Double fats) {
+        this.fats = fats;
+    }
+
+    public Double getCarbohydrates() {
+        return carbohydrates;
+    }
+
+    public void setCarbohydrates(Double carbohydrates) {
+        this.carbohydrates = carbohydrates;
+    }
+}
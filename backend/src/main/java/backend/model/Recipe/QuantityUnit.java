@@ -1,16 +1,112 @@
 package backend.model.Recipe;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Units of an ingredient quantity. Every unit belongs to a {@link UnitDimension} and knows its factor to the
+ * base unit of that dimension, so quantities are added up in the base unit and only converted back for display.
+ * New units (e.g. LITER in VOLUME) only need their symbol, dimension and factor.
+ */
 public enum QuantityUnit {
-    GRAM("Gramm", "GRAM"),
-    KILOGRAM("Kilogramm", "KILOGRAM"),
-    MILLIGRAM("Milligramm", "MILLIGRAM");
+    GRAM("Gramm", "GRAM", "g", UnitDimension.MASS, 1),
+    KILOGRAM("Kilogramm", "KILOGRAM", "kg", UnitDimension.MASS, 1000),
+    MILLIGRAM("Milligramm", "MILLIGRAM", "mg", UnitDimension.MASS, 0.001);
 
+    // Units per dimension, largest first
+    private static final Map<UnitDimension, List<QuantityUnit>> UNITS_BY_DIMENSION = new EnumMap<>(UnitDimension.class);
+
+    static {
+        for (QuantityUnit unit : values()) {
+            UNITS_BY_DIMENSION.computeIfAbsent(unit.dimension, k -> new ArrayList<>()).add(unit);
+        }
+        UNITS_BY_DIMENSION.values().forEach(units -> units.sort(Comparator.comparingDouble(QuantityUnit::getBaseFactor).reversed()));
+    }
 
     private final String name;
     private final String value;
+    private final String symbol; // Abkürzung für die Anzeige, z.B. "kg"
+    private final UnitDimension dimension;
+    private final double baseFactor;
 
-    QuantityUnit(String name, String value) {
+    QuantityUnit(String name, String value, String symbol, UnitDimension dimension, double baseFactor) {
         this.name = name;
         this.value = value;
+        this.symbol = symbol;
+        this.dimension = dimension;
+        this.baseFactor = baseFactor;
+    }
+
+    /**
+     * Converts an amount in this unit to the base unit of its dimension.
+     *
+     * @param amount The amount in this unit.
+     * @return The amount in the base unit.
+     */
+    public double toBase(double amount) {
+        return amount * baseFactor;
+    }
+
+    /**
+     * Converts an amount in the base unit of the dimension to this unit.
+     *
+     * @param baseAmount The amount in the base unit.
+     * @return The amount in this unit.
+     */
+    public double fromBase(double baseAmount) {
+        return baseAmount / baseFactor;
+    }
+
+    /**
+     * Converts an amount in this unit to grams.
+     *
+     * @param amount The amount in this unit.
+     * @return The amount in grams, or null if this is not a unit of mass.
+     */
+    public Double toGrams(double amount) {
+        return dimension == UnitDimension.MASS ? toBase(amount) : null;
+    }
+
+    /**
+     * Chooses the unit to display an amount in: the largest unit of the dimension the amount reaches
+     * at least once, or the smallest unit for amounts below all of them (e.g. 1500 g as kg, 0.5 g as mg).
+     *
+     * @param dimension  The dimension of the amount.
+     * @param baseAmount The amount in the base unit of the dimension.
+     * @return The unit to display the amount in.
+     * @throws IllegalArgumentException if the dimension has no units
+     */
+    public static QuantityUnit displayUnit(UnitDimension dimension, double baseAmount) {
+        List<QuantityUnit> units = unitsOf(dimension);
+        for (QuantityUnit unit : units) {
+            if (Math.abs(baseAmount) >= unit.baseFactor) {
+                return unit;
+            }
+        }
+        // Zero is shown in the base unit
+        return baseAmount == 0 ? baseUnit(dimension) : units.get(units.size() - 1);
+    }
+
+    private static QuantityUnit baseUnit(UnitDimension dimension) {
+        List<QuantityUnit> units = unitsOf(dimension);
+        for (QuantityUnit unit : units) {
+            if (unit.baseFactor == 1) {
+                return unit;
+            }
+        }
+        return units.get(0);
+    }
+
+    // Amounts only exist in dimensions with units, so an empty dimension is a programming error
+    private static List<QuantityUnit> unitsOf(UnitDimension dimension) {
+        List<QuantityUnit> units = UNITS_BY_DIMENSION.get(dimension);
+        if (units == null) {
+            throw new IllegalArgumentException("No units defined for dimension: " + dimension);
+        }
+        return units;
     }
 
     public String getName() {
@@ -21,13 +117,20 @@ public enum QuantityUnit {
         return value;
     }
 
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public UnitDimension getDimension() {
+        return dimension;
+    }
+
+    public double getBaseFactor() {
+        return baseFactor;
+    }
+
     @Override
     public String toString() {
-        switch (this) {
-            case GRAM: return "g";
-            case KILOGRAM: return "kg";
-            case MILLIGRAM: return "mg";
-            default: return name; // Fallback
-        }
+        return symbol;
     }
 }
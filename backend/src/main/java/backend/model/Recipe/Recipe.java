@@ -1,8 +1,10 @@
 package backend.model.Recipe;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -14,8 +16,14 @@ import java.util.Set;
 @Table(name = "Recipe")
 public class Recipe {
 
+    /**
+     * Name under which recipes without a name are counted in the statistics.
+     */
+    public static final String UNNAMED = "Unbenanntes Rezept";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_seq")
+    @SequenceGenerator(name = "recipe_seq", sequenceName = "recipe_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -28,6 +36,11 @@ public class Recipe {
     @Enumerated(EnumType.STRING)
     private Set<Tag> tags;
 
+    // Bit mask of the tags (see Tag#mask), used for searching without joining the tag table
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long tagMask;
+
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<Ingredient> ingredients;
@@ -66,7 +79,7 @@ public class Recipe {
         this.description = description;
         this.cookingTime = cookingTime;
         this.ingredients = ingredients;
-        this.tags = tags;
+        setTags(tags);
         this.isFavorite = false; // Default value
         this.tenantId = tenantId;
     }
@@ -119,6 +132,37 @@ public class Recipe {
 
     public void setTags(Set<Tag> tags) {
         this.tags = tags;
+        this.tagMask = Tag.toMask(tags);
+    }
+
+    /**
+     * Changes the tags in place, so that only added and removed tags are written instead of the whole tag set.
+     *
+     * @param newTags The new tags; null removes all tags.
+     * @return true if the tags changed.
+     */
+    public boolean updateTags(Set<Tag> newTags) {
+        Set<Tag> target = newTags != null ? newTags : Set.of();
+        if (tags == null) {
+            setTags(new HashSet<>(target));
+            return !target.isEmpty();
+        }
+        boolean changed = tags.retainAll(target) | tags.addAll(target);
+        this.tagMask = Tag.toMask(tags);
+        return changed;
+    }
+
+    public long getTagMask() {
+        return tagMask;
+    }
+
+    /**
+     * Keeps the tag mask in sync with the tags, also when the tag set was modified in place.
+     */
+    @PrePersist
+    @PreUpdate
+    void syncTagMask() {
+        this.tagMask = Tag.toMask(tags);
     }
 
     public List<Ingredient> getIngredients() {
@@ -166,26 +210,6 @@ public class Recipe {
         return carbohydratePercentage;
     }
 
-    /**
-     * Converts the quantity of an ingredient to grams based on its unit.
-     *
-     * @param quantity Quantity as a string (assumed to be numeric).
-     * @param unit     Unit of the quantity (e.g., gram, kilogram).
-     * @return Quantity in grams.
-     */
-    public double convertToGrams(String quantity, QuantityUnit unit) {
-        double value = Double.parseDouble(quantity);
-        switch (unit) {
-            case KILOGRAM:
-                return value * 1000;
-            case MILLIGRAM:
-                return value / 1000;
-            case GRAM:
-            default:
-                return value;
-        }
-    }
-
     /**
      * Calculates total and relative nutritional values based on the ingredients.
      */
@@ -197,10 +221,13 @@ public class Recipe {
 
         if (ingredients != null) {
             for (Ingredient ingredient : ingredients) {
-                double quantityInGrams = convertToGrams(ingredient.getQuantity(), ingredient.getUnit());
-                proteins += ingredient.getProteins() * quantityInGrams / 100;
-                fats += ingredient.getFats() * quantityInGrams / 100;
-                carbohydrates += ingredient.getCarbohydrates() * quantityInGrams / 100;
+                if (ingredient.getGrams() == null) {
+                    continue; // No quantity given
+                }
+                double quantityInGrams = ingredient.getGrams();
+                proteins += orZero(ingredient.getProteins()) * quantityInGrams / 100;
+                fats += orZero(ingredient.getFats()) * quantityInGrams / 100;
+                carbohydrates += orZero(ingredient.getCarbohydrates()) * quantityInGrams / 100;
             }
         }
 
@@ -220,6 +247,11 @@ public class Recipe {
         }
     }
 
+    // Unknown nutritional values do not count
+    private static double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
     /**
      * Rounds a given value to one decimal place.
      *
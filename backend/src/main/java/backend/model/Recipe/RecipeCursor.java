@@ -0,0 +1,69 @@
+package backend.model.Recipe;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the recipe list, which is sorted by name and ID with recipes without a name first.
+ * The cursor is handed to clients as an opaque URL-safe string.
+ */
+public class RecipeCursor {
+
+    private static final char NAME_MARKER = '=';
+
+    private final String name;
+    private final Long id;
+
+    public RecipeCursor(String name, Long id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Encodes the cursor as an opaque string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        // A missing name is encoded without the marker, so it cannot be confused with the name "null"
+        String value = name == null ? id + ":" : id + ":" + NAME_MARKER + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static RecipeCursor decode(String cursor) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        int separator = value.indexOf(':');
+        if (separator < 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        String name = value.substring(separator + 1);
+        if (!name.isEmpty() && name.charAt(0) != NAME_MARKER) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new RecipeCursor(name.isEmpty() ? null : name.substring(1), Long.parseLong(value.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package backend.model.Recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a recipe import: the number of imported recipes, meal plans and rejected records and the reasons for the rejections.
+ * Only the first errors are kept, so a broken import file does not produce an unbounded response.
+ */
+public class RecipeImportResult {
+
+    private int imported;
+    private int importedMealPlans;
+    private int failed;
+    private boolean errorsTruncated;
+    private final List<RecordError> errors = new ArrayList<>();
+    private final int maxErrors;
+
+    /**
+     * Constructor to create an empty result.
+     *
+     * @param maxErrors The maximum number of errors kept in the result.
+     */
+    public RecipeImportResult(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Counts imported records.
+     *
+     * @param count The number of records that were saved.
+     */
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    /**
+     * Counts imported meal plans.
+     *
+     * @param count The number of meal plans that were saved.
+     */
+    public void addImportedMealPlans(int count) {
+        importedMealPlans += count;
+    }
+
+    /**
+     * Counts a rejected record and keeps the reason, as long as the error limit is not reached.
+     *
+     * @param line    The line number of the record in the import file.
+     * @param message The reason for the rejection.
+     */
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RecordError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getImportedMealPlans() {
+        return importedMealPlans;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public List<RecordError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * A rejected record of the import file.
+     */
+    public static class RecordError {
+
+        private final long line;
+        private final String message;
+
+        public RecordError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package backend.model.Recipe;
+
+import java.util.List;
+
+/**
+ * One page of a recipe search. {@code nextCursor} is null if there are no further results.
+ */
+public class RecipePage {
+
+    private final List<RecipeSummary> items;
+    private final String nextCursor;
+
+    public RecipePage(List<RecipeSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<RecipeSummary> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
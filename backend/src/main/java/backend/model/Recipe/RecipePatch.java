@@ -0,0 +1,68 @@
+package backend.model.Recipe;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Partial update of a recipe. Every field that is null is left unchanged.
+ * Ingredients are matched by their ID; a given ingredient list replaces the ingredients of the recipe.
+ */
+public class RecipePatch {
+
+    private String name;
+    private String description;
+    private Integer cookingTime;
+    private Boolean favorite;
+    private Set<Tag> tags;
+    private List<Ingredient> ingredients;
+
+    // Getter and Setter methods
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Integer getCookingTime() {
+        return cookingTime;
+    }
+
+    public void setCookingTime(Integer cookingTime) {
+        this.cookingTime = cookingTime;
+    }
+
+    public Boolean getFavorite() {
+        return favorite;
+    }
+
+    public void setFavorite(Boolean favorite) {
+        this.favorite = favorite;
+    }
+
+    public Set<Tag> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<Tag> tags) {
+        this.tags = tags;
+    }
+
+    public List<Ingredient> getIngredients() {
+        return ingredients;
+    }
+
+    public void setIngredients(List<Ingredient> ingredients) {
+        this.ingredients = ingredients;
+    }
+}
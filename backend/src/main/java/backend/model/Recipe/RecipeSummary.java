@@ -0,0 +1,76 @@
+package backend.model.Recipe;
+
+import java.util.Set;
+
+/**
+ * Read model of a recipe for list views. It is selected with a constructor projection,
+ * so neither the description nor the ingredients and tags are loaded.
+ */
+public class RecipeSummary {
+
+    private final Long id;
+    private final String name;
+    private final Integer cookingTime;
+    private final boolean favorite;
+    private final long tagMask;
+    private final Double totalCalories;
+    private final Double totalProteins;
+    private final Double totalFats;
+    private final Double totalCarbohydrates;
+
+    public RecipeSummary(Long id, String name, Integer cookingTime, boolean favorite, long tagMask,
+                         Double totalCalories, Double totalProteins, Double totalFats, Double totalCarbohydrates) {
+        this.id = id;
+        this.name = name;
+        this.cookingTime = cookingTime;
+        this.favorite = favorite;
+        this.tagMask = tagMask;
+        this.totalCalories = totalCalories;
+        this.totalProteins = totalProteins;
+        this.totalFats = totalFats;
+        this.totalCarbohydrates = totalCarbohydrates;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getCookingTime() {
+        return cookingTime;
+    }
+
+    public boolean isFavorite() {
+        return favorite;
+    }
+
+    public long getTagMask() {
+        return tagMask;
+    }
+
+    /**
+     * Returns the tags decoded from the tag mask, so list views need no join on the tag table.
+     */
+    public Set<Tag> getTags() {
+        return Tag.fromMask(tagMask);
+    }
+
+    public Double getTotalCalories() {
+        return totalCalories;
+    }
+
+    public Double getTotalProteins() {
+        return totalProteins;
+    }
+
+    public Double getTotalFats() {
+        return totalFats;
+    }
+
+    public Double getTotalCarbohydrates() {
+        return totalCarbohydrates;
+    }
+}
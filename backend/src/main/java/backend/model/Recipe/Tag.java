@@ -1,5 +1,14 @@
 package backend.model.Recipe;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Tags that can be assigned to a recipe.
+ * Recipes persist their tags additionally as a bit mask built from the ordinals, so new tags
+ * must only be appended to the end and the enum must not grow beyond 64 constants.
+ */
 public enum Tag {
     VEGETARIAN,
     VEGAN,
@@ -51,5 +60,48 @@ public enum Tag {
     BAKING,
     LOW_CALORIE,
     ANTI_AGEING,
-    DETOX,
+    DETOX;
+
+    private static final Tag[] VALUES = values();
+
+    /**
+     * Returns the bit of this tag in a tag mask.
+     *
+     * @return the mask containing only this tag
+     */
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Builds the bit mask of the given tags.
+     *
+     * @param tags the tags, may be null
+     * @return the mask with one bit set per tag
+     */
+    public static long toMask(Collection<Tag> tags) {
+        long mask = 0L;
+        if (tags != null) {
+            for (Tag tag : tags) {
+                mask |= tag.mask();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Resolves the tags contained in a bit mask.
+     *
+     * @param mask the tag mask
+     * @return the set of tags whose bit is set
+     */
+    public static Set<Tag> fromMask(long mask) {
+        Set<Tag> tags = EnumSet.noneOf(Tag.class);
+        for (Tag tag : VALUES) {
+            if ((mask & tag.mask()) != 0) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
 }
@@ -0,0 +1,11 @@
+package backend.model.Recipe;
+
+/**
+ * Physical dimension of a {@link QuantityUnit}. Amounts of the same dimension can be added up after they
+ * were converted to the base unit of the dimension; amounts of different dimensions never are.
+ */
+public enum UnitDimension {
+    MASS,   // Base unit: gram
+    VOLUME, // Base unit: millilitre
+    COUNT   // Base unit: piece
+}
@@ -0,0 +1,109 @@
+package backend.model.ShoppingList;
+
+import backend.model.Recipe.QuantityUnit;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Summed quantity of one catalogue ingredient in one unit that the meal plan of one day needs.
+ * The rows are kept up to date whenever a meal plan or a recipe used in it changes, so a shopping list
+ * for any range only has to add up the rows of the days in the range.
+ */
+@Entity
+@Table(name = "DailyIngredientDemand",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"tenant_id", "date", "catalog_entry_id", "unit"}))
+public class DailyIngredientDemand {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_ingredient_demand_seq")
+    @SequenceGenerator(name = "daily_ingredient_demand_seq", sequenceName = "daily_ingredient_demand_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    // ID of the IngredientCatalogEntry
+    @Column(name = "catalog_entry_id", nullable = false)
+    private Long catalogEntryId;
+
+    @Enumerated(EnumType.STRING)
+    private QuantityUnit unit;
+
+    private double amount;
+
+    /**
+     * Default constructor.
+     */
+    public DailyIngredientDemand() {}
+
+    /**
+     * Constructor to create the demand of one ingredient and unit for one day.
+     *
+     * @param tenantId The tenant ID for multitenancy.
+     * @param date The day of the meal plan.
+     * @param catalogEntryId The ID of the catalogue ingredient.
+     * @param unit The unit of the amount.
+     * @param amount The summed amount over all meal slots of the day.
+     */
+    public DailyIngredientDemand(String tenantId, LocalDate date, Long catalogEntryId, QuantityUnit unit, double amount) {
+        this.tenantId = tenantId;
+        this.date = date;
+        this.catalogEntryId = catalogEntryId;
+        this.unit = unit;
+        this.amount = amount;
+    }
+
+    // Getter and Setter methods
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Long getCatalogEntryId() {
+        return catalogEntryId;
+    }
+
+    public void setCatalogEntryId(Long catalogEntryId) {
+        this.catalogEntryId = catalogEntryId;
+    }
+
+    public QuantityUnit getUnit() {
+        return unit;
+    }
+
+    public void setUnit(QuantityUnit unit) {
+        this.unit = unit;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+}
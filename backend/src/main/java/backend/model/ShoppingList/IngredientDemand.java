@@ -0,0 +1,39 @@
+package backend.model.ShoppingList;
+
+import backend.model.Recipe.QuantityUnit;
+
+/**
+ * Read model for the aggregated demand of one catalogue ingredient in one unit over a date range.
+ * Instances are created directly by the database aggregation query, so no MealPlan or Recipe
+ * entities have to be loaded to build a shopping list.
+ */
+public class IngredientDemand {
+
+    private final Long ingredientId;
+    private final String ingredientName;
+    private final QuantityUnit unit;
+    private final double amount;
+
+    public IngredientDemand(Long ingredientId, String ingredientName, QuantityUnit unit, Double amount) {
+        this.ingredientId = ingredientId;
+        this.ingredientName = ingredientName;
+        this.unit = unit;
+        this.amount = amount != null ? amount : 0.0;
+    }
+
+    public Long getIngredientId() {
+        return ingredientId;
+    }
+
+    public String getIngredientName() {
+        return ingredientName;
+    }
+
+    public QuantityUnit getUnit() {
+        return unit;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,192 @@
+package backend.model.ShoppingList;
+
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.UnitDimension;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sums ingredient amounts per catalogue entry ID in primitive arrays. The IDs are looked up in an open-addressing
+ * table (linear probing) that points to dense slots, so adding an amount allocates nothing and
+ * {@link ShoppingItem}s are only created for the result, in the order the ingredients were first added.
+ * Amounts are converted to the base unit of their dimension when they are added (see {@link QuantityUnit}).
+ */
+class IngredientTotals {
+
+    private static final UnitDimension[] DIMENSIONS = UnitDimension.values();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] table;           // Slot index + 1 per hash position, 0 = free
+    private long[] ids;            // Catalogue entry ID per slot
+    private String[] names;        // Name of the first ingredient per slot
+    private double[] baseAmounts;  // DIMENSIONS.length amounts per slot, in the base unit
+    private int[] usedDimensions;  // Bit per dimension ordinal per slot
+    private int size;
+
+    IngredientTotals() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param expectedIngredients number of distinct ingredients expected, to avoid growing the arrays
+     */
+    IngredientTotals(int expectedIngredients) {
+        int slots = Math.max(INITIAL_CAPACITY, expectedIngredients);
+        table = new int[tableSizeFor(slots)];
+        ids = new long[slots];
+        names = new String[slots];
+        baseAmounts = new double[slots * DIMENSIONS.length];
+        usedDimensions = new int[slots];
+    }
+
+    /**
+     * Adds an amount of an ingredient.
+     *
+     * @param ingredientId the ID of the catalogue entry
+     * @param name         the name shown for the ingredient if it is added for the first time
+     * @param unit         the unit of the amount
+     * @param amount       the amount in the given unit
+     */
+    void add(long ingredientId, String name, QuantityUnit unit, double amount) {
+        int slot = slotOf(ingredientId, name);
+        int dimension = unit.getDimension().ordinal();
+        baseAmounts[slot * DIMENSIONS.length + dimension] += unit.toBase(amount);
+        usedDimensions[slot] |= 1 << dimension;
+    }
+
+    /**
+     * Subtracts stock of an ingredient. Stock of ingredients or dimensions that were never added is ignored,
+     * and a dimension whose amount is fully covered is not rendered anymore.
+     *
+     * @param ingredientId the ID of the catalogue entry
+     * @param dimension    the dimension of the stock
+     * @param baseAmount   the stock in the base unit of the dimension
+     */
+    void subtract(long ingredientId, UnitDimension dimension, double baseAmount) {
+        int slot = find(ingredientId);
+        int bit = 1 << dimension.ordinal();
+        if (slot < 0 || (usedDimensions[slot] & bit) == 0) {
+            return;
+        }
+        int index = slot * DIMENSIONS.length + dimension.ordinal();
+        baseAmounts[index] -= baseAmount;
+        if (baseAmounts[index] <= 0) {
+            baseAmounts[index] = 0;
+            usedDimensions[slot] &= ~bit;
+        }
+    }
+
+    /**
+     * Renders one shopping item per ingredient, e.g. "1.25 kg". The amount of the item is the amount in the
+     * first rendered unit; the unit text contains all dimensions the ingredient was used in.
+     */
+    List<ShoppingItem> toShoppingItems() {
+        List<ShoppingItem> items = new ArrayList<>(size);
+        StringBuilder text = new StringBuilder();
+        for (int slot = 0; slot < size; slot++) {
+            if (usedDimensions[slot] == 0) {
+                continue; // Covered by the pantry
+            }
+            text.setLength(0);
+            double displayAmount = 0;
+            for (UnitDimension dimension : DIMENSIONS) {
+                if ((usedDimensions[slot] & (1 << dimension.ordinal())) == 0) {
+                    continue;
+                }
+                double baseAmount = baseAmounts[slot * DIMENSIONS.length + dimension.ordinal()];
+                QuantityUnit unit = QuantityUnit.displayUnit(dimension, baseAmount);
+                double amount = unit.fromBase(baseAmount);
+                if (text.length() == 0) {
+                    displayAmount = amount;
+                } else {
+                    text.append(", ");
+                }
+                text.append(formatAmount(amount)).append(' ').append(unit);
+            }
+            items.add(new ShoppingItem(ids[slot], names[slot], displayAmount, text.toString()));
+        }
+        return items;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int find(long ingredientId) {
+        int mask = table.length - 1;
+        int position = hash(ingredientId) & mask;
+        while (table[position] != 0) {
+            int slot = table[position] - 1;
+            if (ids[slot] == ingredientId) {
+                return slot;
+            }
+            position = (position + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotOf(long ingredientId, String name) {
+        int mask = table.length - 1;
+        int position = hash(ingredientId) & mask;
+        while (table[position] != 0) {
+            int slot = table[position] - 1;
+            if (ids[slot] == ingredientId) {
+                return slot;
+            }
+            position = (position + 1) & mask;
+        }
+
+        if (size == ids.length) {
+            growSlots();
+        }
+        int slot = size++;
+        ids[slot] = ingredientId;
+        names[slot] = name;
+        table[position] = slot + 1;
+
+        // Keep the table at most half full
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return slot;
+    }
+
+    private void growSlots() {
+        int slots = ids.length * 2;
+        ids = Arrays.copyOf(ids, slots);
+        names = Arrays.copyOf(names, slots);
+        baseAmounts = Arrays.copyOf(baseAmounts, slots * DIMENSIONS.length);
+        usedDimensions = Arrays.copyOf(usedDimensions, slots);
+    }
+
+    private void rehash(int tableSize) {
+        table = new int[tableSize];
+        int mask = tableSize - 1;
+        for (int slot = 0; slot < size; slot++) {
+            int position = hash(ids[slot]) & mask;
+            while (table[position] != 0) {
+                position = (position + 1) & mask;
+            }
+            table[position] = slot + 1;
+        }
+    }
+
+    // Spreads sequential IDs over the table (Fibonacci hashing)
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(int slots) {
+        return Integer.highestOneBit(Math.max(2, slots * 2 - 1)) << 1;
+    }
+
+    // The only place amounts are rounded: at most three decimals, e.g. 1.25 kg instead of 1.2500000000000002 kg
+    private static String formatAmount(double amount) {
+        return BigDecimal.valueOf(amount).setScale(3, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+}
@@ -1,9 +1,11 @@
 package backend.model.ShoppingList;
 /**
  * Represents an item in a shopping list, which consists of an ingredient, its amount, and its unit.
+ * The unit text is the rendered total including the amount (e.g. "1.25 kg"), as shown in the shopping list.
  */
 public class ShoppingItem {
 
+    private Long ingredientId; // ID des Katalogeintrags
     private String ingredientName;
     private double amount;
     private String unit; // Einheit der Zutat
@@ -14,7 +16,20 @@ public class ShoppingItem {
         this.unit = unit;
     }
 
+    public ShoppingItem(Long ingredientId, String ingredientName, double amount, String unit) {
+        this(ingredientName, amount, unit);
+        this.ingredientId = ingredientId;
+    }
+
     // Getter und Setter
+    public Long getIngredientId() {
+        return ingredientId;
+    }
+
+    public void setIngredientId(Long ingredientId) {
+        this.ingredientId = ingredientId;
+    }
+
     public String getIngredientName() {
         return ingredientName;
     }
@@ -1,17 +1,19 @@
 package backend.model.ShoppingList;
 
 import backend.model.MealPlan.MealPlan;
+import backend.model.Pantry.PantryItem;
 import backend.model.Recipe.Ingredient;
-import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.IngredientCatalogEntry;
 import backend.model.Recipe.Recipe;
-import backend.multitenant.tenantId.TenantContext;
 
 import java.time.LocalDate;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a shopping list generated from meal plans over a specified period.
- * The list contains the ingredients, quantities, and units required for meals.
+ * The list contains the ingredients, quantities, and units required for meals. Quantities of one ingredient
+ * are summed in the base unit of their dimension and shown in the largest fitting unit.
  */
 public class ShoppingList {
 
@@ -37,84 +39,76 @@ public class ShoppingList {
      * @param mealPlans The list of meal plans that contain the recipes for the shopping list.
      */
     public void generateShoppingList(List<MealPlan> mealPlans) {
-        String tenantId = TenantContext.getCurrentTenant();  // Get tenant ID
-        // Map for storing ingredients, their names, quantities, and units
-        Map<String, List<ShoppingItem>> ingredientMap = new HashMap<>();
+        // Totals per catalogue entry
+        IngredientTotals totals = new IngredientTotals();
 
         // Iterate over all meal plans within the specified period
         for (MealPlan mealPlan : mealPlans) {
-            if (mealPlan.getDate().isAfter(startDate.minusDays(1)) && mealPlan.getDate().isBefore(endDate.plusDays(1))) {
-                addIngredientsFromRecipe(mealPlan.getBreakfastRecipe(), mealPlan.getBreakfastPortionSize(), ingredientMap, tenantId);
-                addIngredientsFromRecipe(mealPlan.getLunchRecipe(), mealPlan.getLunchPortionSize(), ingredientMap, tenantId);
-                addIngredientsFromRecipe(mealPlan.getDinnerRecipe(), mealPlan.getDinnerPortionSize(), ingredientMap, tenantId);
+            if (!mealPlan.getDate().isBefore(startDate) && !mealPlan.getDate().isAfter(endDate)) {
+                addIngredientsFromRecipe(mealPlan.getBreakfastRecipe(), mealPlan.getBreakfastPortionSize(), totals);
+                addIngredientsFromRecipe(mealPlan.getLunchRecipe(), mealPlan.getLunchPortionSize(), totals);
+                addIngredientsFromRecipe(mealPlan.getDinnerRecipe(), mealPlan.getDinnerPortionSize(), totals);
             }
         }
-
-        // Add ingredients from the map to the shopping list
-        items = new ArrayList<>();
-        for (Map.Entry<String, List<ShoppingItem>> entry : ingredientMap.entrySet()) {
-            ShoppingItem combinedItem = combineItems(entry.getValue());
-            items.add(combinedItem);
-        }
+        items = totals.toShoppingItems();
     }
 
     /**
-     * Adds ingredients from a recipe to the ingredient map, scaling the quantities based on the portion size.
+     * Generates the shopping list from demand rows that were already aggregated by the database.
+     * The rows are combined per catalogue ingredient the same way as in {@link #generateShoppingList(List)}.
      *
-     * @param recipe         The recipe from which ingredients are extracted.
-     * @param portionSize    The number of servings (portion size) for the recipe.
-     * @param ingredientMap  The map where ingredients will be stored.
-     * @param tenantId       The tenant ID for multitenancy.
+     * @param demands The summed ingredient quantities per catalogue ingredient and unit.
      */
-    private void addIngredientsFromRecipe(Recipe recipe, int portionSize, Map<String, List<ShoppingItem>> ingredientMap, String tenantId) {
-        if (recipe != null && recipe.getIngredients() != null) {
-            for (Ingredient ingredient : recipe.getIngredients()) {
-                if (ingredient.getQuantity() != null && !ingredient.getQuantity().trim().isEmpty()) {
-                    // Convert and scale the quantity based on the portion size
-                    double scaledQuantity = convertAndScaleQuantity(ingredient.getQuantity(), ingredient.getUnit(), portionSize);
-
-                    // Ingredients are only combined if they have the same unit
-                    String unit = ingredient.getUnit().toString();
-
-                    // Add ingredient to the map under its name
-                    ingredientMap.computeIfAbsent(ingredient.getName(), k -> new ArrayList<>())
-                            .add(new ShoppingItem(ingredient.getName(), Math.round(scaledQuantity), unit));
-                } else {
-                    System.err.println("Warning: Missing or empty quantity for ingredient: " + ingredient.getName());
-                }
-            }
-        }
+    public void generateShoppingListFromDemand(List<IngredientDemand> demands) {
+        generateShoppingListFromDemand(demands, List.of());
     }
 
     /**
-     * Combines a list of shopping items with the same name, summing the amounts and grouping by unit.
+     * Generates the shopping list from demand rows and subtracts the pantry stock in the same pass.
+     * Each pantry item is looked up in the hash table of the summed demand, so the cost is linear in the number
+     * of demand rows and pantry items. Ingredients that are fully in stock are left out.
      *
-     * @param items The list of shopping items to be combined.
-     * @return A single combined shopping item with the total amount and unit(s).
+     * @param demands The summed ingredient quantities per catalogue ingredient and unit.
+     * @param pantry  The pantry stock of the tenant.
      */
-    private ShoppingItem combineItems(List<ShoppingItem> items) {
-        String ingredientName = items.get(0).getIngredientName();
-        Map<String, Double> unitAmounts = new HashMap<>();
-        StringBuilder combinedUnits = new StringBuilder();
-        double totalAmount = 0;
-
-        // Sum amounts grouped by unit
-        for (ShoppingItem item : items) {
-            totalAmount += item.getAmount();  // Calculate total amount for the ingredient
-            unitAmounts.put(item.getUnit(), unitAmounts.getOrDefault(item.getUnit(), 0.0) + item.getAmount());
+    public void generateShoppingListFromDemand(List<IngredientDemand> demands, List<PantryItem> pantry) {
+        IngredientTotals totals = new IngredientTotals(demands.size());
+        for (IngredientDemand demand : demands) {
+            if (demand.getUnit() != null) {
+                totals.add(demand.getIngredientId(), demand.getIngredientName(), demand.getUnit(), demand.getAmount());
+            }
         }
-
-        // Combine amounts and units correctly
-        for (Map.Entry<String, Double> entry : unitAmounts.entrySet()) {
-            combinedUnits.append(entry.getValue()).append(" ").append(entry.getKey()).append(", ");
+        for (PantryItem item : pantry) {
+            totals.subtract(item.getCatalogEntryId(), item.getDimension(), item.getBaseAmount());
         }
+        items = totals.toShoppingItems();
+    }
 
-        // Remove the last comma and space if present
-        if (combinedUnits.length() > 0) {
-            combinedUnits.setLength(combinedUnits.length() - 2);
+    /**
+     * Adds ingredients from a recipe to the totals, scaling the quantities based on the portion size.
+     *
+     * @param recipe      The recipe from which ingredients are extracted.
+     * @param portionSize The number of servings (portion size) for the recipe.
+     * @param totals      The totals per catalogue entry.
+     */
+    private void addIngredientsFromRecipe(Recipe recipe, int portionSize, IngredientTotals totals) {
+        if (recipe != null && recipe.getIngredients() != null) {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                if (ingredient.getAmount() != null && ingredient.getUnit() != null && ingredient.getCatalogEntryId() != null) {
+                    // Scale the quantity based on the portion size; it is only rounded for display
+                    double scaledQuantity = ingredient.getAmount() * portionSize;
+                    totals.add(ingredient.getCatalogEntryId(), displayName(ingredient), ingredient.getUnit(), scaledQuantity);
+                } else {
+                    System.err.println("Warning: Missing quantity, unit or catalogue entry for ingredient: " + ingredient.getName());
+                }
+            }
         }
+    }
 
-        return new ShoppingItem(ingredientName, totalAmount, combinedUnits.toString());
+    // Ingredients without a name are listed under the name of their shared catalogue entry
+    private static String displayName(Ingredient ingredient) {
+        String name = ingredient.getName();
+        return name == null || name.isBlank() ? IngredientCatalogEntry.UNNAMED : name;
     }
 
     // Getter and Setter methods
@@ -172,34 +166,4 @@ public class ShoppingList {
     public void setEndDate(LocalDate endDate) {
         this.endDate = endDate;
     }
-
-    /**
-     * Converts and scales the quantity of an ingredient based on its unit and the portion size.
-     *
-     * @param quantity The quantity as a string.
-     * @param unit     The unit of the quantity.
-     * @param portionSize The portion size for scaling the quantity.
-     * @return The scaled quantity.
-     */
-    private double convertAndScaleQuantity(String quantity, QuantityUnit unit, int portionSize) {
-        double baseQuantity = parseQuantity(quantity, unit);
-        return baseQuantity * portionSize;
-    }
-
-    /**
-     * Parses the quantity string into a numeric value.
-     *
-     * @param quantity The quantity as a string.
-     * @param unit     The unit of the quantity (not used here, but passed for potential future handling).
-     * @return The parsed quantity as a double.
-     */
-    private double parseQuantity(String quantity, QuantityUnit unit) {
-        try {
-            // Replace comma with dot to correct format
-            quantity = quantity.replace(',', '.');
-            return Double.parseDouble(quantity);
-        } catch (NumberFormatException e) {
-            return 0.0;  // Return 0 if the quantity cannot be parsed
-        }
-    }
 }
@@ -0,0 +1,52 @@
+package backend.model.ShoppingList;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response of the stored shopping list endpoints: the current version of the list and its items.
+ * For a delta request (since a known version) the items only contain the items changed after that version,
+ * including deleted ones; otherwise they contain all items that are not deleted.
+ */
+public class ShoppingListSync {
+
+    private final Long id;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long version;
+    private final boolean delta;
+    private final List<StoredShoppingItem> items;
+
+    public ShoppingListSync(StoredShoppingList shoppingList, boolean delta, List<StoredShoppingItem> items) {
+        this.id = shoppingList.getId();
+        this.startDate = shoppingList.getStartDate();
+        this.endDate = shoppingList.getEndDate();
+        this.version = shoppingList.getVersion();
+        this.delta = delta;
+        this.items = items;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isDelta() {
+        return delta;
+    }
+
+    public List<StoredShoppingItem> getItems() {
+        return items;
+    }
+}
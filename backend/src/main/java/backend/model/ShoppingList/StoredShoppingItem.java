@@ -0,0 +1,153 @@
+package backend.model.ShoppingList;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.util.Objects;
+
+/**
+ * Item of a {@link StoredShoppingList}: the total of one catalogue ingredient and whether it was already bought.
+ * Items of ingredients that are no longer needed are kept as deleted tombstones, so clients learn about the removal
+ * with their next delta request.
+ */
+@Entity
+@Table(name = "StoredShoppingItem",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"shopping_list_id", "ingredient_id"}),
+        indexes = @Index(columnList = "shopping_list_id, version"))
+public class StoredShoppingItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stored_shopping_item_seq")
+    @SequenceGenerator(name = "stored_shopping_item_seq", sequenceName = "stored_shopping_item_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "shopping_list_id")
+    @JsonIgnore
+    private StoredShoppingList shoppingList;
+
+    // ID of the IngredientCatalogEntry
+    @Column(name = "ingredient_id", nullable = false)
+    private Long ingredientId;
+
+    private String ingredientName;
+    private double amount;
+    private String unit;
+    private boolean checked;
+    private boolean deleted;
+
+    // Version of the list in which the item was changed last
+    private long version;
+
+    /**
+     * Default constructor.
+     */
+    public StoredShoppingItem() {}
+
+    /**
+     * Constructor to add an ingredient to a shopping list.
+     *
+     * @param shoppingList The list the item belongs to.
+     * @param ingredientId The ID of the catalogue ingredient.
+     */
+    public StoredShoppingItem(StoredShoppingList shoppingList, Long ingredientId) {
+        this.shoppingList = shoppingList;
+        this.ingredientId = ingredientId;
+    }
+
+    /**
+     * Takes over the current total of the ingredient. A changed amount unchecks the item, because more
+     * may have to be bought.
+     *
+     * @param item The freshly computed shopping item.
+     * @return true if the item changed.
+     */
+    public boolean update(ShoppingItem item) {
+        if (!deleted && amount == item.getAmount() && Objects.equals(unit, item.getUnit())
+                && Objects.equals(ingredientName, item.getIngredientName())) {
+            return false;
+        }
+        if (deleted || amount != item.getAmount() || !Objects.equals(unit, item.getUnit())) {
+            checked = false;
+        }
+        ingredientName = item.getIngredientName();
+        amount = item.getAmount();
+        unit = item.getUnit();
+        deleted = false;
+        return true;
+    }
+
+    // Getter and Setter methods
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public StoredShoppingList getShoppingList() {
+        return shoppingList;
+    }
+
+    public void setShoppingList(StoredShoppingList shoppingList) {
+        this.shoppingList = shoppingList;
+    }
+
+    public Long getIngredientId() {
+        return ingredientId;
+    }
+
+    public void setIngredientId(Long ingredientId) {
+        this.ingredientId = ingredientId;
+    }
+
+    public String getIngredientName() {
+        return ingredientName;
+    }
+
+    public void setIngredientName(String ingredientName) {
+        this.ingredientName = ingredientName;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public void setUnit(String unit) {
+        this.unit = unit;
+    }
+
+    public boolean isChecked() {
+        return checked;
+    }
+
+    public void setChecked(boolean checked) {
+        this.checked = checked;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
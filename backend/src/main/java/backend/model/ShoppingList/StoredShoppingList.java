@@ -0,0 +1,101 @@
+package backend.model.ShoppingList;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Shopping list of a tenant for a date range that is kept between requests, so the checked state of the items
+ * survives. Every change of the list or of one of its items increments the version; the changed items carry that
+ * version, so clients only have to fetch the items with a higher version than the one they know.
+ */
+@Entity
+@Table(name = "StoredShoppingList",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"tenant_id", "start_date", "end_date"}))
+public class StoredShoppingList {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stored_shopping_list_seq")
+    @SequenceGenerator(name = "stored_shopping_list_seq", sequenceName = "stored_shopping_list_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    private long version;
+
+    /**
+     * Default constructor.
+     */
+    public StoredShoppingList() {}
+
+    /**
+     * Constructor to create an empty shopping list for a date range.
+     *
+     * @param tenantId The tenant ID for multitenancy.
+     * @param startDate The start date of the range (inclusive).
+     * @param endDate The end date of the range (inclusive).
+     */
+    public StoredShoppingList(String tenantId, LocalDate startDate, LocalDate endDate) {
+        this.tenantId = tenantId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    /**
+     * Increments the version for a change of the list.
+     *
+     * @return The new version, to be set on the changed items.
+     */
+    public long nextVersion() {
+        return ++version;
+    }
+
+    // Getter and Setter methods
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
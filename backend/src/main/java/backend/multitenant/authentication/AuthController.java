@@ -1,13 +1,27 @@
 package backend.multitenant.authentication;
 
+import backend.multitenant.tenantId.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Controller that handles authentication-related requests such as registration, login, logout, and checking login status.
  * It manages user authentication, session handling, and tenant-specific information.
@@ -16,18 +30,23 @@ import jakarta.servlet.http.HttpSession;
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Object LOGIN_INTERCEPTOR_KEY = AuthController.class.getName() + ".login";
+
     private final AuthService authService;
-    private final AuthenticationManager authenticationManager;
+    private final JwtService jwtService;
+    private final AuthMode authMode;
 
     /**
      * Constructor to initialize the AuthController with required services.
      *
      * @param authService The service responsible for user authentication and registration.
-     * @param authenticationManager The manager responsible for handling authentication requests.
+     * @param jwtService The service issuing tokens in the {@link AuthMode#JWT} mode.
+     * @param authMode The configured authentication mode ({@code auth.mode}).
      */
-    public AuthController(AuthService authService, AuthenticationManager authenticationManager) {
+    public AuthController(AuthService authService, JwtService jwtService, @Value("${auth.mode:session}") AuthMode authMode) {
         this.authService = authService;
-        this.authenticationManager = authenticationManager;
+        this.jwtService = jwtService;
+        this.authMode = authMode;
     }
 
     /**
@@ -50,44 +69,88 @@ public class AuthController {
     /**
      * Logs in a user.
      * This endpoint handles user login by authenticating the user's credentials and setting up their session.
+     * In the {@link AuthMode#JWT} mode no session is created; instead a signed token is returned in the body
+     * and set as HttpOnly cookie.
+     * The password is verified once on the password hashing executor; the request thread is released meanwhile.
+     * The response and the session are written on a container thread of the async request, never on the hashing
+     * executor.
      *
      * @param loginRequest The request body containing the user's login credentials.
-     * @param session The HTTP session to store tenant-specific information and security context.
-     * @return A ResponseEntity indicating the result of the login process.
+     * @param request The HTTP request, whose session stores tenant-specific information and security context.
+     * @return A deferred ResponseEntity indicating the result of the login process,
+     *         or 503 if too many logins are pending.
      */
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody LoginRequest loginRequest, HttpSession session) {
-        try {
-            String tenantId = authService.authenticateAndGetTenantId(loginRequest.getUsername(), loginRequest.getPassword());
-            System.out.println(tenantId);
-            session.setAttribute("tenantId", tenantId);  // Set tenantId in session
-
-            // Authenticate the user
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getUsername(),
-                            loginRequest.getPassword()
-                    )
-            );
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            session.setAttribute("SPRING_SECURITY_CONTEXT", SecurityContextHolder.getContext());
-
-            return ResponseEntity.ok("Login successful");
-        } catch (IllegalArgumentException e) {
+    public DeferredResult<ResponseEntity<String>> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        CompletableFuture<AuthenticatedUser> authentication =
+                authService.authenticate(loginRequest.getUsername(), loginRequest.getPassword());
+        DeferredResult<ResponseEntity<String>> response = new DeferredResult<>();
+
+        // The async context exists once Spring has started the async request, right before it waits for the result
+        WebAsyncUtils.getAsyncManager(request).registerDeferredResultInterceptor(LOGIN_INTERCEPTOR_KEY,
+                new DeferredResultProcessingInterceptor() {
+                    @Override
+                    public <T> void preProcess(NativeWebRequest webRequest, DeferredResult<T> deferredResult) {
+                        AsyncContext asyncContext = request.getAsyncContext();
+                        authentication.whenComplete((user, failure) -> asyncContext.start(() -> {
+                            try {
+                                response.setResult(user != null ? loginSucceeded(user, request) : loginFailed(failure));
+                            } catch (RuntimeException e) {
+                                response.setErrorResult(e);
+                            }
+                        }));
+                    }
+                });
+        return response;
+    }
+
+    private ResponseEntity<String> loginSucceeded(AuthenticatedUser user, HttpServletRequest request) {
+        if (authMode == AuthMode.JWT) {
+            String token = jwtService.createToken(user.getUsername(), user.getTenantId());
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, tokenCookie(token, jwtService.getExpiration()).toString())
+                    .body(token);
+        }
+
+        HttpSession session = request.getSession(true);
+        session.setAttribute("tenantId", user.getTenantId());  // Set tenantId in session
+
+        // Store the security context directly, it is read by the next request of this session
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(user.toAuthentication());
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
+
+        return ResponseEntity.ok("Login successful");
+    }
+
+    private ResponseEntity<String> loginFailed(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(503).body("Too many login attempts, please try again later");
+        }
+        if (cause instanceof IllegalArgumentException) {
             return ResponseEntity.badRequest().body("Invalid username or password");
         }
+        throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
     }
 
     /**
      * Logs out a user by invalidating their session.
      * This endpoint clears all session attributes and logs the user out.
+     * In the {@link AuthMode#JWT} mode the token cookie is removed; issued tokens stay valid until they expire.
      *
-     * @param session The HTTP session to invalidate.
+     * @param request The HTTP request whose session is invalidated.
      * @return A ResponseEntity indicating the result of the logout process.
      */
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(HttpSession session) {
+    public ResponseEntity<String> logout(HttpServletRequest request) {
+        if (authMode == AuthMode.JWT) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, tokenCookie("", Duration.ZERO).toString())
+                    .body("Logout successful");
+        }
+
+        HttpSession session = request.getSession(false);
         if (session != null) {
             session.invalidate();  // Invalidate session on logout
         }
@@ -96,16 +159,31 @@ public class AuthController {
 
     /**
      * Checks the login status of the user.
-     * This endpoint verifies if the user is logged in by checking the session for a tenantId.
+     * This endpoint verifies if the user is logged in by checking the session (or the token) for a tenantId.
      *
-     * @param session The HTTP session that holds user login information.
+     * @param request The HTTP request that holds user login information.
      * @return A ResponseEntity with status 200 if the user is logged in, or 401 if not.
      */
     @GetMapping("/status")
-    public ResponseEntity<Void> checkLoginStatus(HttpSession session) {
+    public ResponseEntity<Void> checkLoginStatus(HttpServletRequest request) {
+        if (authMode == AuthMode.JWT) {
+            // The JwtAuthenticationFilter only sets the tenant for valid tokens
+            return TenantContext.getCurrentTenant() != null ? ResponseEntity.ok().build() : ResponseEntity.status(401).build();
+        }
+
+        HttpSession session = request.getSession(false);
         if (session != null && session.getAttribute("tenantId") != null) {
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.status(401).build();  // Unauthorized if tenantId is not found
     }
+
+    private ResponseCookie tokenCookie(String token, Duration maxAge) {
+        return ResponseCookie.from(JwtService.TOKEN_COOKIE, token)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+    }
 }
@@ -0,0 +1,18 @@
+package backend.multitenant.authentication;
+
+/**
+ * How logged-in users are recognized, selected with the {@code auth.mode} property.
+ */
+public enum AuthMode {
+
+    /**
+     * The tenant ID and security context are kept in the HTTP session (default).
+     */
+    SESSION,
+
+    /**
+     * No server-side session; every request carries a signed token with the tenant ID,
+     * as {@code Authorization: Bearer} header or in the {@link JwtService#TOKEN_COOKIE} cookie.
+     */
+    JWT
+}
@@ -1,11 +1,23 @@
 package backend.multitenant.authentication;
 
 import backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import backend.multitenant.tenantId.User;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service class that handles user registration, authentication, and tenant ID management.
@@ -14,18 +26,53 @@ import java.util.UUID;
 @Service
 public class AuthService {
 
+    // Same authorities as CustomUserDetailsService assigns
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor passwordHashingExecutor;
+    private final String dummyHash;
 
     /**
      * Constructor to initialize the AuthService with required repositories and password encoder.
      *
      * @param userRepository The repository used to interact with user data in the database.
      * @param passwordEncoder The password encoder used to encode and match passwords.
+     * @param hashingThreads The number of password hashing threads, by default half of the available processors.
+     * @param hashingQueueCapacity The maximum number of password checks waiting for a hashing thread.
      */
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       @Value("${auth.password-hashing.threads:0}") int hashingThreads,
+                       @Value("${auth.password-hashing.queue-capacity:100}") int hashingQueueCapacity) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = createPasswordHashingExecutor(hashingThreads, hashingQueueCapacity);
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Creates the bounded executor that verifies passwords during login.
+     * BCrypt is deliberately slow, so password checks run on their own small pool instead of the request threads.
+     * Checks beyond the queue capacity are rejected. The executor is not a bean, so it does not replace
+     * the application task executor.
+     */
+    private static ThreadPoolExecutor createPasswordHashingExecutor(int threads, int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        passwordHashingExecutor.shutdown();
     }
 
     /**
@@ -66,21 +113,33 @@ public class AuthService {
 
     /**
      * Authenticates a user by checking the provided username and password.
-     * If authentication is successful, the tenant ID of the user is returned.
+     * The user is loaded once and the password is verified once. The BCrypt check runs on the bounded
+     * password hashing executor, so a burst of logins cannot occupy the request threads.
+     * Unknown users are checked against a dummy hash, so they take as long as a wrong password.
      *
      * @param username The username of the user trying to log in.
      * @param password The password of the user trying to log in.
-     * @return The tenant ID of the authenticated user.
-     * @throws IllegalArgumentException If the user is not found or the password is incorrect.
+     * @return A future of the authenticated user with tenant ID and authorities. It fails with an
+     *         {@link IllegalArgumentException} if the user is not found or the password is incorrect, and with a
+     *         {@link RejectedExecutionException} if too many logins are pending.
      */
-    public String authenticateAndGetTenantId(String username, String password) {
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new IllegalArgumentException("User not found"));
+    public CompletableFuture<AuthenticatedUser> authenticate(String username, String password) {
+        Optional<User> user = userRepository.findByUsername(username);
+        String hash = user.map(User::getPassword).orElse(dummyHash);
 
-        // Verify the password using BCrypt
-        if (passwordEncoder.matches(password, user.getPassword())) {
-            return user.getTenantId();
-        } else {
-            throw new IllegalArgumentException("Wrong password");
+        CompletableFuture<Boolean> verification;
+        try {
+            verification = CompletableFuture.supplyAsync(() -> passwordEncoder.matches(password, hash), passwordHashingExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
         }
+        return verification
+                .thenApply(matches -> {
+                    // Verify the password using BCrypt
+                    if (user.isEmpty() || !matches) {
+                        throw new IllegalArgumentException("Invalid username or password");
+                    }
+                    return new AuthenticatedUser(user.get().getUsername(), user.get().getTenantId(), USER_AUTHORITIES);
+                });
     }
 }
@@ -0,0 +1,44 @@
+package backend.multitenant.authentication;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Result of a successful login: the user, the tenant and the authorities, resolved with a single user lookup.
+ */
+public class AuthenticatedUser {
+
+    private final String username;
+    private final String tenantId;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(String username, String tenantId, List<GrantedAuthority> authorities) {
+        this.username = username;
+        this.tenantId = tenantId;
+        this.authorities = authorities;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Creates an authenticated Spring Security token for this user. The password is not kept.
+     *
+     * @return The authentication to store in the security context.
+     */
+    public Authentication toAuthentication() {
+        return UsernamePasswordAuthenticationToken.authenticated(username, null, authorities);
+    }
+}
@@ -0,0 +1,121 @@
+package backend.multitenant.authentication;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Service that issues and verifies the signed tokens of the stateless {@link AuthMode#JWT} mode.
+ * A token carries the username as subject and the tenant ID as claim.
+ */
+@Service
+public class JwtService {
+
+    /**
+     * Name of the cookie the token is stored in for browser clients.
+     */
+    public static final String TOKEN_COOKIE = "AUTH_TOKEN";
+    private static final String TENANT_CLAIM = "tenantId";
+
+    // The example secret of application.properties, which must not sign tokens
+    static final String DEFAULT_SECRET = "mySuperSecretKey123";
+    // HMAC-SHA256 needs a key of at least 256 bits
+    static final int MIN_SECRET_BYTES = 32;
+
+    // Null in the session mode, where no tokens are issued
+    private final SecretKey key;
+    private final Duration expiration;
+
+    /**
+     * Constructor to initialize the JwtService with the configured secret and token lifetime.
+     *
+     * @param secret     The secret from {@code jwt.secret}, used as HMAC key.
+     * @param expiration The lifetime of issued tokens.
+     * @param authMode   The configured authentication mode ({@code auth.mode}).
+     * @throws IllegalStateException In the {@link AuthMode#JWT} mode, if the secret is the default secret or
+     *                               shorter than {@value #MIN_SECRET_BYTES} bytes, so the application does not start.
+     */
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration:PT8H}") Duration expiration,
+                      @Value("${auth.mode:session}") AuthMode authMode) {
+        this.key = authMode == AuthMode.JWT ? Keys.hmacShaKeyFor(checkSecret(secret)) : null;
+        this.expiration = expiration;
+    }
+
+    /**
+     * Returns the lifetime of issued tokens.
+     */
+    public Duration getExpiration() {
+        return expiration;
+    }
+
+    /**
+     * Issues a signed token for a user.
+     *
+     * @param username The username of the logged-in user.
+     * @param tenantId The tenant ID of the user.
+     * @return The compact, signed token.
+     */
+    public String createToken(String username, String tenantId) {
+        requireKey();
+        Date now = new Date();
+        return Jwts.builder()
+                .subject(username)
+                .claim(TENANT_CLAIM, tenantId)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + expiration.toMillis()))
+                .signWith(key)
+                .compact();
+    }
+
+    /**
+     * Verifies the signature and expiration of a token and returns its claims.
+     *
+     * @param token The compact token.
+     * @return The claims of the token.
+     * @throws JwtException If the token is invalid or expired.
+     */
+    public Claims parseToken(String token) {
+        requireKey();
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    /**
+     * Returns the tenant ID carried by the claims of a token.
+     *
+     * @param claims The verified claims.
+     * @return The tenant ID, or null if the token has none.
+     */
+    public String getTenantId(Claims claims) {
+        return claims.get(TENANT_CLAIM, String.class);
+    }
+
+    private static byte[] checkSecret(String secret) {
+        if (secret == null || secret.equals(DEFAULT_SECRET)) {
+            throw new IllegalStateException("jwt.secret must be changed from the default value in the JWT auth mode");
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("jwt.secret must be at least " + MIN_SECRET_BYTES + " bytes long in the JWT auth mode");
+        }
+        return bytes;
+    }
+
+    private void requireKey() {
+        if (key == null) {
+            throw new IllegalStateException("Tokens are only used in the JWT auth mode");
+        }
+    }
+}
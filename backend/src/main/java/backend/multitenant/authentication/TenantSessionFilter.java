@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -19,10 +20,12 @@ import java.io.IOException;
 
 /**
  * This filter is responsible for retrieving the tenant ID from the HTTP session and setting it in the
- * TenantContext. It ensures that each request is associated with the correct tenant. Additionally,
- * it logs the authentication status and tenant ID.
+ * TenantContext for the duration of the request. It ensures that each request is associated with the correct tenant. Additionally,
+ * it logs the authentication status and tenant ID. Without a tenant in the session, the current tenant is left unchanged.
+ * The filter is only active in the session {@link AuthMode}; it never creates a session itself.
  */
 @Component
+@ConditionalOnProperty(name = "auth.mode", havingValue = "session", matchIfMissing = true)
 public class TenantSessionFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(TenantSessionFilter.class);
@@ -42,11 +45,11 @@ public class TenantSessionFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        HttpSession session = request.getSession(true);  // Retrieve existing session
+        HttpSession session = request.getSession(false);  // Retrieve existing session, never create one
+        String tenantId = null;
         if (session != null) {
-            String tenantId = (String) session.getAttribute("tenantId");
+            tenantId = (String) session.getAttribute("tenantId");
             if (tenantId != null) {
-                TenantContext.setCurrentTenant(tenantId);
                 logger.info("Tenant ID found in session: " + tenantId);
 
                 // Check if the user is authenticated
@@ -62,10 +65,18 @@ public class TenantSessionFilter extends OncePerRequestFilter {
                 logger.error("Tenant ID not found in session!");
             }
         } else {
-            logger.error("Session is null!");
+            logger.debug("No session for request: " + request.getRequestURI());
         }
 
-        // Proceed with the filter chain
-        filterChain.doFilter(request, response);
+        if (tenantId == null) {
+            // Keep the tenant set by the TenantFilter, e.g. from the X-Tenant-ID header
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Proceed with the filter chain; the tenant is reset when the request is done, even if it fails
+        try (TenantContext.Scope ignored = TenantContext.enter(tenantId)) {
+            filterChain.doFilter(request, response);
+        }
     }
 }
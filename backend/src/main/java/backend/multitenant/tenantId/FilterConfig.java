@@ -1,5 +1,6 @@
 package backend.multitenant.tenantId;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,10 +16,12 @@ public class FilterConfig {
     /**
      * Registers the TenantFilter as a filter in the Spring Boot application.
      * This filter will be applied to all incoming requests (indicated by "/*").
+     * It is only registered in the session auth mode; in the JWT mode the tenant ID comes from the token only.
      *
      * @return A FilterRegistrationBean that configures the TenantFilter.
      */
     @Bean
+    @ConditionalOnProperty(name = "auth.mode", havingValue = "session", matchIfMissing = true)
     public FilterRegistrationBean<TenantFilter> tenantFilter() {
         // Create a new FilterRegistrationBean for the TenantFilter
         FilterRegistrationBean<TenantFilter> registrationBean = new FilterRegistrationBean<>();
@@ -1,9 +1,16 @@
 package backend.multitenant.tenantId;
 
+import java.util.concurrent.Callable;
+
 /**
  * A utility class that provides thread-local storage for the current tenant ID.
  * It allows different threads to store and retrieve the tenant ID without interfering with other threads.
  * This is especially useful in multi-tenant applications where each request (handled by a separate thread) may have a different tenant context.
+ * <p>
+ * Code that sets a tenant should use {@link #enter(String)} (or {@link #runWithTenant}/{@link #callWithTenant}),
+ * which restores the previous tenant when the scope is closed, so pooled and virtual threads never keep a stale tenant.
+ * {@link TenantTaskDecorator} carries the tenant into async tasks.
+ * </p>
  */
 public class TenantContext {
 
@@ -35,4 +42,71 @@ public class TenantContext {
     public static void clear() {
         currentTenant.remove();
     }
+
+    /**
+     * Sets the tenant ID until the returned scope is closed; the previous tenant ID is restored then.
+     * Use it with try-with-resources, so the cleanup is guaranteed.
+     *
+     * @param tenantId The tenant ID to set, or null for no tenant.
+     * @return The scope to close after the work for the tenant is done.
+     */
+    public static Scope enter(String tenantId) {
+        String previous = currentTenant.get();
+        set(tenantId);
+        return () -> set(previous);
+    }
+
+    /**
+     * Runs a task with the given tenant ID and restores the previous tenant ID afterwards.
+     *
+     * @param tenantId The tenant ID to run the task with.
+     * @param task The task to run.
+     */
+    public static void runWithTenant(String tenantId, Runnable task) {
+        try (Scope ignored = enter(tenantId)) {
+            task.run();
+        }
+    }
+
+    /**
+     * Calls a task with the given tenant ID and restores the previous tenant ID afterwards.
+     *
+     * @param tenantId The tenant ID to call the task with.
+     * @param task The task to call.
+     * @return The result of the task.
+     * @throws Exception If the task throws an exception.
+     */
+    public static <T> T callWithTenant(String tenantId, Callable<T> task) throws Exception {
+        try (Scope ignored = enter(tenantId)) {
+            return task.call();
+        }
+    }
+
+    /**
+     * Wraps a task, so it runs with the tenant ID of the calling thread, e.g. when it is executed on another thread.
+     *
+     * @param task The task to wrap.
+     * @return The task bound to the current tenant ID.
+     */
+    public static Runnable wrap(Runnable task) {
+        String tenantId = currentTenant.get();
+        return () -> runWithTenant(tenantId, task);
+    }
+
+    private static void set(String tenantId) {
+        if (tenantId == null) {
+            currentTenant.remove();
+        } else {
+            currentTenant.set(tenantId);
+        }
+    }
+
+    /**
+     * A tenant scope opened by {@link #enter(String)}. Closing it does not throw.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
 }
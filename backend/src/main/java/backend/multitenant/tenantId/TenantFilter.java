@@ -10,6 +10,7 @@ import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.annotation.WebFilter;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
 
 import java.io.IOException;
 
@@ -31,17 +32,20 @@ public class TenantFilter implements Filter {
 
         if (tenantId == null || tenantId.isEmpty()) {
             logger.info("No tenant ID in header, checking session...");
-            tenantId = (String) httpRequest.getSession().getAttribute("tenantId");
+            HttpSession session = httpRequest.getSession(false);  // Do not create a session for anonymous requests
+            tenantId = session != null ? (String) session.getAttribute("tenantId") : null;
         }
 
         if (tenantId != null) {
-            TenantContext.setCurrentTenant(tenantId);
             logger.info("Tenant ID set: " + tenantId);
         } else {
             logger.error("No tenant ID found in session or header!");
         }
 
-        chain.doFilter(request, response);
+        // The tenant is reset when the request is done, even if it fails
+        try (TenantContext.Scope ignored = TenantContext.enter(tenantId)) {
+            chain.doFilter(request, response);
+        }
     }
 
     @Override
@@ -0,0 +1,18 @@
+package backend.multitenant.tenantId;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the tenant ID of the submitting thread into tasks run by Spring's task executors
+ * (e.g. {@code @Async} methods and async request processing), on platform as well as on virtual threads.
+ * Spring Boot applies this decorator to the auto-configured application task executor.
+ */
+@Component
+public class TenantTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContext.wrap(runnable);
+    }
+}
@@ -0,0 +1,19 @@
+package backend.repository;
+
+import backend.model.CookingStatistic.CookingStatisticRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface CookingStatisticRollupRepository extends JpaRepository<CookingStatisticRollup, Long> {
+
+    Optional<CookingStatisticRollup> findByTenantIdAndDate(String tenantId, LocalDate date);
+
+    List<CookingStatisticRollup> findByTenantIdAndDateBetween(String tenantId, LocalDate startDate, LocalDate endDate);
+
+    void deleteByTenantIdAndDate(String tenantId, LocalDate date);
+
+    void deleteByTenantId(String tenantId);
+}
@@ -0,0 +1,36 @@
+package backend.repository;
+
+import backend.model.ShoppingList.DailyIngredientDemand;
+import backend.model.ShoppingList.IngredientDemand;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyIngredientDemandRepository extends JpaRepository<DailyIngredientDemand, Long> {
+
+    List<DailyIngredientDemand> findByTenantIdAndDate(String tenantId, LocalDate date);
+
+    void deleteByTenantIdAndDate(String tenantId, LocalDate date);
+
+    void deleteByTenantId(String tenantId);
+
+    /**
+     * Adds up the daily demand rows of a date range per catalogue ingredient and unit.
+     * DailyIngredientDemandServiceTest checks that it returns the same rows as
+     * {@link MealPlanRepository#sumIngredientDemandByTenantIdAndDateBetween}, which sums the meal plans directly.
+     */
+    @Query("""
+        SELECT new backend.model.ShoppingList.IngredientDemand(c.id, c.name, d.unit, SUM(d.amount))
+        FROM DailyIngredientDemand d
+        JOIN IngredientCatalogEntry c ON c.id = d.catalogEntryId
+        WHERE d.tenantId = :tenantId
+        AND d.date BETWEEN :startDate AND :endDate
+        GROUP BY c.id, c.name, d.unit
+    """)
+    List<IngredientDemand> sumByTenantIdAndDateBetween(@Param("tenantId") String tenantId,
+                                                       @Param("startDate") LocalDate startDate,
+                                                       @Param("endDate") LocalDate endDate);
+}
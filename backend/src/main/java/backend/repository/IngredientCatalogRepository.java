@@ -0,0 +1,20 @@
+package backend.repository;
+
+import backend.model.Recipe.IngredientCatalogEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface IngredientCatalogRepository extends JpaRepository<IngredientCatalogEntry, Long> {
+
+    List<IngredientCatalogEntry> findByTenantIdAndNormalizedNameIn(String tenantId, Collection<String> normalizedNames);
+
+    // Shared lock, so the read sees entries committed after the transaction started (see IngredientCatalogService)
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    List<IngredientCatalogEntry> findForShareByTenantIdAndNormalizedNameIn(String tenantId, Collection<String> normalizedNames);
+
+    List<IngredientCatalogEntry> findByTenantIdAndIdIn(String tenantId, Collection<Long> ids);
+}
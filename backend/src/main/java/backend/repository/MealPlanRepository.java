@@ -1,19 +1,104 @@
 package backend.repository;
 
 import backend.model.MealPlan.MealPlan;
+import backend.model.MealPlan.MealPlanDTO;
+import backend.model.ShoppingList.IngredientDemand;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MealPlanRepository extends JpaRepository<MealPlan, Long> {
 
+    // The meal plan queries fetch the three recipes in the same statement. Their tags and ingredients are
+    // loaded in batches (see hibernate.default_batch_fetch_size), so the number of statements does not grow with the range.
+    @EntityGraph(attributePaths = {"breakfastRecipe", "lunchRecipe", "dinnerRecipe"})
     Optional<MealPlan> findByTenantIdAndDate(String tenantId, LocalDate date);
 
     boolean existsByTenantIdAndDate(String tenantId, LocalDate date);
 
+    @EntityGraph(attributePaths = {"breakfastRecipe", "lunchRecipe", "dinnerRecipe"})
     List<MealPlan> findByTenantId(String tenantId);
 
+    @EntityGraph(attributePaths = {"breakfastRecipe", "lunchRecipe", "dinnerRecipe"})
     List<MealPlan> findByTenantIdAndDateBetween(String tenantId, LocalDate startDate, LocalDate endDate);
+
+    @Query("""
+        SELECT mp
+        FROM MealPlan mp
+        WHERE mp.tenantId = :tenantId
+        AND (mp.breakfastRecipe.id = :recipeId OR mp.lunchRecipe.id = :recipeId OR mp.dinnerRecipe.id = :recipeId)
+    """)
+    @EntityGraph(attributePaths = {"breakfastRecipe", "lunchRecipe", "dinnerRecipe"})
+    List<MealPlan> findByTenantIdAndRecipeId(@Param("tenantId") String tenantId, @Param("recipeId") Long recipeId);
+
+    @Query("""
+        SELECT mp.date
+        FROM MealPlan mp
+        WHERE mp.tenantId = :tenantId
+        AND (mp.breakfastRecipe.id = :recipeId OR mp.lunchRecipe.id = :recipeId OR mp.dinnerRecipe.id = :recipeId)
+    """)
+    List<LocalDate> findDatesByTenantIdAndRecipeId(@Param("tenantId") String tenantId, @Param("recipeId") Long recipeId);
+
+    @Query("SELECT mp.date FROM MealPlan mp WHERE mp.tenantId = :tenantId AND mp.date BETWEEN :startDate AND :endDate")
+    List<LocalDate> findDatesByTenantIdAndDateBetween(@Param("tenantId") String tenantId,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
+
+    /**
+     * Streams the meal plans of a tenant ordered by date, with only the IDs of the recipes. The rows are read
+     * from a database cursor in blocks of the fetch size; the stream must be consumed inside a transaction.
+     */
+    @Query("""
+        SELECT new backend.model.MealPlan.MealPlanDTO(mp.date, b.id, mp.breakfastPortionSize,
+               l.id, mp.lunchPortionSize, d.id, mp.dinnerPortionSize)
+        FROM MealPlan mp
+        LEFT JOIN mp.breakfastRecipe b
+        LEFT JOIN mp.lunchRecipe l
+        LEFT JOIN mp.dinnerRecipe d
+        WHERE mp.tenantId = :tenantId
+        ORDER BY mp.date
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<MealPlanDTO> streamExportByTenantId(@Param("tenantId") String tenantId);
+
+    @Query("SELECT DISTINCT mp.tenantId FROM MealPlan mp")
+    List<String> findAllTenantIds();
+
+    /**
+     * Sums the portion-scaled ingredient quantities of all meal plans in the given range,
+     * grouped by catalogue ingredient and unit. Every meal slot is scaled on its own without rounding,
+     * exactly like {@link backend.model.ShoppingList.ShoppingList#generateShoppingList}, so a recipe
+     * used in several slots of the same day is counted once per slot. Ingredients without their own unit are
+     * counted in the canonical unit of their catalogue entry.
+     * Shopping lists are read from the DailyIngredientDemand table; this query computes the same rows from the
+     * meal plans directly and is only used by DailyIngredientDemandServiceTest as a second reference for that table.
+     */
+    @Query("""
+        SELECT new backend.model.ShoppingList.IngredientDemand(c.id, c.name, COALESCE(i.unit, c.unit), SUM(
+              CASE WHEN mp.breakfastRecipe.id = i.recipe.id
+                   THEN i.amount * mp.breakfastPortionSize ELSE 0.0 END
+            + CASE WHEN mp.lunchRecipe.id = i.recipe.id
+                   THEN i.amount * mp.lunchPortionSize ELSE 0.0 END
+            + CASE WHEN mp.dinnerRecipe.id = i.recipe.id
+                   THEN i.amount * mp.dinnerPortionSize ELSE 0.0 END))
+        FROM MealPlan mp
+        JOIN Ingredient i ON i.recipe.id IN (mp.breakfastRecipe.id, mp.lunchRecipe.id, mp.dinnerRecipe.id)
+        JOIN i.catalogEntry c
+        WHERE mp.tenantId = :tenantId
+        AND mp.date BETWEEN :startDate AND :endDate
+        AND i.amount IS NOT NULL
+        GROUP BY c.id, c.name, COALESCE(i.unit, c.unit)
+    """)
+    List<IngredientDemand> sumIngredientDemandByTenantIdAndDateBetween(@Param("tenantId") String tenantId,
+                                                                       @Param("startDate") LocalDate startDate,
+                                                                       @Param("endDate") LocalDate endDate);
 }
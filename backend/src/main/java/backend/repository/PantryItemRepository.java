@@ -0,0 +1,29 @@
+package backend.repository;
+
+import backend.model.Pantry.PantryItem;
+import backend.model.Pantry.PantryStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PantryItemRepository extends JpaRepository<PantryItem, Long> {
+
+    List<PantryItem> findByTenantId(String tenantId);
+
+    List<PantryItem> findByTenantIdAndCatalogEntryIdIn(String tenantId, Collection<Long> catalogEntryIds);
+
+    /**
+     * Returns the stock of the tenant with the ingredient names, in the display unit of each amount.
+     */
+    @Query("""
+        SELECT new backend.model.Pantry.PantryStock(c.id, c.name, p.dimension, p.baseAmount)
+        FROM PantryItem p
+        JOIN IngredientCatalogEntry c ON c.id = p.catalogEntryId
+        WHERE p.tenantId = :tenantId
+        ORDER BY c.name, p.dimension
+    """)
+    List<PantryStock> findStockByTenantId(@Param("tenantId") String tenantId);
+}
@@ -1,29 +1,34 @@
 package backend.repository;
 
 import backend.model.Recipe.Recipe;
-import backend.model.Recipe.Tag;
+import backend.model.Recipe.RecipeSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
 
-    @Query("""
-        SELECT r 
-        FROM Recipe r 
-        JOIN r.tags t 
-        WHERE t IN :tags
-        AND r.tenantId = :tenantId
-    """)
-    List<Recipe> findByTenantIdAndTagsIn(@Param("tenantId") String tenantId, @Param("tags") List<Tag> tags);
-
     boolean existsByTenantIdAndName(String tenantId, String recipeName);
 
+    boolean existsByTenantIdAndId(String tenantId, Long id);
+
     List<Recipe> findByTenantId(String tenantId);
 
+    List<Recipe> findByTenantIdAndIdGreaterThanOrderByIdAsc(String tenantId, Long afterId, Limit limit);
+
+    @Query("SELECT r.name FROM Recipe r WHERE r.tenantId = :tenantId")
+    List<String> findNamesByTenantId(@Param("tenantId") String tenantId);
+
+    // Recipes saved before the tag mask column existed have tags but a mask of 0
+    @Query("SELECT r FROM Recipe r WHERE r.tagMask = 0 AND r.tags IS NOT EMPTY")
+    List<Recipe> findWithMissingTagMask();
+
     @Query("""
         SELECT r 
         FROM Recipe r
@@ -32,15 +37,84 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     """)
     Optional<Recipe> findByTenantIdAndId(@Param("tenantId") String tenantId, @Param("id") Long id);
 
+    /**
+     * Filter of the recipe searches. The name is a prefix whose LIKE wildcards are escaped with a backslash.
+     * Every filter is optional: a null name, a tag mask of 0, a null cooking time
+     * and favoriteOnly = false match all recipes. Paging uses a keyset on (name, id) with recipes without a name
+     * first: pass the last recipe of the previous page as afterName/afterId (afterName is null if that recipe has
+     * no name), or null for both on the first page. The casts type parameters whose type H2 cannot infer.
+     */
+    String SEARCH_FILTER = """
+        FROM Recipe r
+        WHERE r.tenantId = :tenantId
+        AND (CAST(:name AS String) IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT(:name, '%')) ESCAPE '\\')
+        AND BITAND(r.tagMask, CAST(:tagMask AS Long)) = :tagMask
+        AND (CAST(:maxCookingTime AS Integer) IS NULL OR r.cookingTime <= :maxCookingTime)
+        AND (:favoriteOnly = FALSE OR r.isFavorite = TRUE)
+        AND (CAST(:afterId AS Long) IS NULL
+             OR (CAST(:afterName AS String) IS NULL AND (r.name IS NOT NULL OR r.id > :afterId))
+             OR r.name > :afterName
+             OR (r.name = :afterName AND r.id > :afterId))
+        ORDER BY CASE WHEN r.name IS NULL THEN 0 ELSE 1 END, r.name, r.id
+    """;
+
+    /**
+     * Evaluates all recipe search filters in one query and returns the recipes ordered by name and ID.
+     */
+    @Query("SELECT r " + SEARCH_FILTER)
+    List<Recipe> search(@Param("tenantId") String tenantId,
+                        @Param("name") String name,
+                        @Param("tagMask") long tagMask,
+                        @Param("maxCookingTime") Integer maxCookingTime,
+                        @Param("favoriteOnly") boolean favoriteOnly,
+                        @Param("afterName") String afterName,
+                        @Param("afterId") Long afterId,
+                        Limit limit);
+
+    /**
+     * Same as {@link #search} but only selects the columns of a {@link RecipeSummary}.
+     */
     @Query("""
-    SELECT r 
-    FROM Recipe r
-    JOIN r.tags t
-    WHERE r.name LIKE %:name% 
-    AND t IN :tags
-    AND r.tenantId = :tenantId
+        SELECT new backend.model.Recipe.RecipeSummary(r.id, r.name, r.cookingTime, r.isFavorite, r.tagMask,
+               r.totalCalories, r.totalProteins, r.totalFats, r.totalCarbohydrates)
+    """ + SEARCH_FILTER)
+    List<RecipeSummary> searchSummaries(@Param("tenantId") String tenantId,
+                                        @Param("name") String name,
+                                        @Param("tagMask") long tagMask,
+                                        @Param("maxCookingTime") Integer maxCookingTime,
+                                        @Param("favoriteOnly") boolean favoriteOnly,
+                                        @Param("afterName") String afterName,
+                                        @Param("afterId") Long afterId,
+                                        Limit limit);
+
+    /**
+     * Sets the favorite flag of the given recipes. Recipes that already have the flag are not written.
+     *
+     * @return the number of recipes whose flag changed
+     */
+    @Modifying
+    @Query("""
+        UPDATE Recipe r
+        SET r.isFavorite = :favorite
+        WHERE r.tenantId = :tenantId
+        AND r.id IN :ids
+        AND r.isFavorite <> :favorite
     """)
-    List<Recipe> findByTenantIdAndNameStartingWithIgnoreCaseAndTagsIn(@Param("tenantId") final String tenantId,@Param("name") final String name,@Param("tags") final List<Tag> tags);
+    int updateFavorite(@Param("tenantId") String tenantId,
+                       @Param("ids") Collection<Long> ids,
+                       @Param("favorite") boolean favorite);
 
-    List<Recipe> findByTenantIdAndNameStartingWithIgnoreCase(String tenantId, String name);
+    /**
+     * Inverts the favorite flag of a recipe in the database.
+     *
+     * @return 1 if the recipe exists, otherwise 0
+     */
+    @Modifying
+    @Query("""
+        UPDATE Recipe r
+        SET r.isFavorite = CASE WHEN r.isFavorite = TRUE THEN FALSE ELSE TRUE END
+        WHERE r.tenantId = :tenantId
+        AND r.id = :id
+    """)
+    int toggleFavorite(@Param("tenantId") String tenantId, @Param("id") Long id);
 }
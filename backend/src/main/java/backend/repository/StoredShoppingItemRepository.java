@@ -0,0 +1,16 @@
+package backend.repository;
+
+import backend.model.ShoppingList.StoredShoppingItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface StoredShoppingItemRepository extends JpaRepository<StoredShoppingItem, Long> {
+
+    List<StoredShoppingItem> findByShoppingListId(Long shoppingListId);
+
+    List<StoredShoppingItem> findByShoppingListIdAndVersionGreaterThanOrderByVersionAsc(Long shoppingListId, long version);
+
+    Optional<StoredShoppingItem> findByShoppingListIdAndId(Long shoppingListId, Long id);
+}
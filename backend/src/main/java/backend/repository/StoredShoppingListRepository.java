@@ -0,0 +1,23 @@
+package backend.repository;
+
+import backend.model.ShoppingList.StoredShoppingList;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface StoredShoppingListRepository extends JpaRepository<StoredShoppingList, Long> {
+
+    boolean existsByTenantIdAndStartDateAndEndDate(String tenantId, LocalDate startDate, LocalDate endDate);
+
+    // Changes lock the list row, so concurrent changes get distinct versions
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<StoredShoppingList> findForUpdateByTenantIdAndStartDateAndEndDate(String tenantId, LocalDate startDate, LocalDate endDate);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<StoredShoppingList> findForUpdateByTenantIdAndId(String tenantId, Long id);
+
+    Optional<StoredShoppingList> findByTenantIdAndId(String tenantId, Long id);
+}
@@ -0,0 +1,122 @@
+package backend.service;
+
+import backend.model.CookingStatistic.CookingStatisticAccumulator;
+import backend.model.CookingStatistic.CookingStatisticRollup;
+import backend.model.MealPlan.MealPlan;
+import backend.repository.CookingStatisticRollupRepository;
+import backend.repository.MealPlanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service class to keep the daily statistic rollups in sync with the meal plans and recipes.
+ * Every change of a meal plan or of a recipe used in a meal plan recomputes the rollups of the affected days.
+ */
+@Service
+public class CookingStatisticRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CookingStatisticRollupService.class);
+    private final CookingStatisticRollupRepository rollupRepository;
+    private final MealPlanRepository mealPlanRepository;
+
+    // Constructor to inject the CookingStatisticRollupRepository and MealPlanRepository dependencies
+    public CookingStatisticRollupService(CookingStatisticRollupRepository rollupRepository, MealPlanRepository mealPlanRepository) {
+        this.rollupRepository = rollupRepository;
+        this.mealPlanRepository = mealPlanRepository;
+    }
+
+    /**
+     * Recomputes the rollup of the day of the given meal plan.
+     *
+     * @param mealPlan the meal plan that was created or changed
+     */
+    @Transactional
+    public void refresh(MealPlan mealPlan) {
+        CookingStatisticRollup rollup = rollupRepository.findByTenantIdAndDate(mealPlan.getTenantId(), mealPlan.getDate())
+                .orElseGet(() -> new CookingStatisticRollup(mealPlan.getTenantId(), mealPlan.getDate()));
+        rollupRepository.save(compute(mealPlan, rollup));
+    }
+
+    /**
+     * Recomputes the rollups of the given days from the current meal plans.
+     * Days without a meal plan lose their rollup.
+     *
+     * @param tenantId the tenant's ID
+     * @param dates    the days to recompute
+     */
+    @Transactional
+    public void refreshDays(String tenantId, Collection<LocalDate> dates) {
+        for (LocalDate date : dates) {
+            mealPlanRepository.findByTenantIdAndDate(tenantId, date)
+                    .ifPresentOrElse(this::refresh, () -> remove(tenantId, date));
+        }
+    }
+
+    /**
+     * Recomputes the rollups of all days that use the given recipe.
+     *
+     * @param tenantId the tenant's ID
+     * @param recipeId the ID of the changed recipe
+     */
+    @Transactional
+    public void refreshRecipe(String tenantId, Long recipeId) {
+        for (MealPlan mealPlan : mealPlanRepository.findByTenantIdAndRecipeId(tenantId, recipeId)) {
+            refresh(mealPlan);
+        }
+    }
+
+    /**
+     * Removes the rollup of a day whose meal plan was deleted.
+     *
+     * @param tenantId the tenant's ID
+     * @param date     the day of the deleted meal plan
+     */
+    @Transactional
+    public void remove(String tenantId, LocalDate date) {
+        rollupRepository.deleteByTenantIdAndDate(tenantId, date);
+    }
+
+    /**
+     * Recomputes all rollups of a tenant from its meal plans.
+     *
+     * @param tenantId the tenant's ID
+     */
+    @Transactional
+    public void rebuildTenant(String tenantId) {
+        rollupRepository.deleteByTenantId(tenantId);
+        rollupRepository.flush();
+
+        // All rollups were removed above, so new ones can be created without looking them up first
+        List<MealPlan> mealPlans = mealPlanRepository.findByTenantId(tenantId);
+        List<CookingStatisticRollup> rollups = new ArrayList<>(mealPlans.size());
+        for (MealPlan mealPlan : mealPlans) {
+            rollups.add(compute(mealPlan, new CookingStatisticRollup(tenantId, mealPlan.getDate())));
+        }
+        rollupRepository.saveAll(rollups);
+        logger.info("Rebuilt {} statistic rollups for tenantId: {}", mealPlans.size(), tenantId);
+    }
+
+    /**
+     * Recomputes the rollups of every tenant that has meal plans.
+     */
+    @Transactional
+    public void rebuildAll() {
+        for (String tenantId : mealPlanRepository.findAllTenantIds()) {
+            rebuildTenant(tenantId);
+        }
+    }
+
+    private CookingStatisticRollup compute(MealPlan mealPlan, CookingStatisticRollup rollup) {
+        CookingStatisticAccumulator accumulator = new CookingStatisticAccumulator();
+        accumulator.add(mealPlan);
+        accumulator.writeTo(rollup);
+        return rollup;
+    }
+}
@@ -0,0 +1,167 @@
+package backend.service;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.Recipe;
+import backend.model.ShoppingList.DailyIngredientDemand;
+import backend.repository.DailyIngredientDemandRepository;
+import backend.repository.MealPlanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class to keep the daily ingredient demand in sync with the meal plans and recipes.
+ * The meal plan, recipe and import services call it for every day whose meal plan or recipes changed, and it only
+ * writes the demand rows of that day whose amount actually changed.
+ */
+@Service
+public class DailyIngredientDemandService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyIngredientDemandService.class);
+    private final DailyIngredientDemandRepository demandRepository;
+    private final MealPlanRepository mealPlanRepository;
+
+    // Constructor to inject the DailyIngredientDemandRepository and MealPlanRepository dependencies
+    public DailyIngredientDemandService(DailyIngredientDemandRepository demandRepository, MealPlanRepository mealPlanRepository) {
+        this.demandRepository = demandRepository;
+        this.mealPlanRepository = mealPlanRepository;
+    }
+
+    /**
+     * Brings the demand rows of the day of the given meal plan up to date. Rows whose amount is unchanged are not
+     * written, changed rows are updated, and rows of ingredients that are no longer needed are deleted.
+     *
+     * @param mealPlan the meal plan that was created or changed
+     */
+    @Transactional
+    public void refresh(MealPlan mealPlan) {
+        Map<Long, Map<QuantityUnit, Double>> demand = compute(mealPlan);
+
+        List<DailyIngredientDemand> staleRows = new ArrayList<>();
+        for (DailyIngredientDemand row : demandRepository.findByTenantIdAndDate(mealPlan.getTenantId(), mealPlan.getDate())) {
+            Map<QuantityUnit, Double> amounts = demand.get(row.getCatalogEntryId());
+            Double amount = amounts != null ? amounts.remove(row.getUnit()) : null;
+            if (amount == null) {
+                staleRows.add(row);
+            } else if (amount != row.getAmount()) {
+                row.setAmount(amount); // written by dirty checking
+            }
+        }
+        demandRepository.deleteAll(staleRows);
+
+        // Only ingredients without a row are left in the map
+        demandRepository.saveAll(toRows(mealPlan.getTenantId(), mealPlan.getDate(), demand));
+    }
+
+    /**
+     * Recomputes the demand of the given days from the current meal plans.
+     * Days without a meal plan lose their demand.
+     *
+     * @param tenantId the tenant's ID
+     * @param dates    the days to recompute
+     */
+    @Transactional
+    public void refreshDays(String tenantId, Collection<LocalDate> dates) {
+        for (LocalDate date : dates) {
+            mealPlanRepository.findByTenantIdAndDate(tenantId, date)
+                    .ifPresentOrElse(this::refresh, () -> remove(tenantId, date));
+        }
+    }
+
+    /**
+     * Recomputes the demand of all days that use the given recipe.
+     *
+     * @param tenantId the tenant's ID
+     * @param recipeId the ID of the changed recipe
+     */
+    @Transactional
+    public void refreshRecipe(String tenantId, Long recipeId) {
+        for (MealPlan mealPlan : mealPlanRepository.findByTenantIdAndRecipeId(tenantId, recipeId)) {
+            refresh(mealPlan);
+        }
+    }
+
+    /**
+     * Removes the demand of a day whose meal plan was deleted.
+     *
+     * @param tenantId the tenant's ID
+     * @param date     the day of the deleted meal plan
+     */
+    @Transactional
+    public void remove(String tenantId, LocalDate date) {
+        demandRepository.deleteByTenantIdAndDate(tenantId, date);
+    }
+
+    /**
+     * Recomputes the demand of all days of a tenant from its meal plans.
+     *
+     * @param tenantId the tenant's ID
+     */
+    @Transactional
+    public void rebuildTenant(String tenantId) {
+        demandRepository.deleteByTenantId(tenantId);
+        demandRepository.flush();
+
+        List<DailyIngredientDemand> rows = new ArrayList<>();
+        for (MealPlan mealPlan : mealPlanRepository.findByTenantId(tenantId)) {
+            rows.addAll(toRows(tenantId, mealPlan.getDate(), compute(mealPlan)));
+        }
+        demandRepository.saveAll(rows);
+        logger.info("Rebuilt {} ingredient demand rows for tenantId: {}", rows.size(), tenantId);
+    }
+
+    /**
+     * Recomputes the demand of every tenant that has meal plans.
+     */
+    @Transactional
+    public void rebuildAll() {
+        for (String tenantId : mealPlanRepository.findAllTenantIds()) {
+            rebuildTenant(tenantId);
+        }
+    }
+
+    /**
+     * Sums the ingredient amounts of the three meal slots per catalogue ingredient and unit. Every slot is scaled
+     * on its own and kept at full precision, like {@link backend.model.ShoppingList.ShoppingList#generateShoppingList} does.
+     */
+    private Map<Long, Map<QuantityUnit, Double>> compute(MealPlan mealPlan) {
+        Map<Long, Map<QuantityUnit, Double>> demand = new HashMap<>();
+        addRecipe(demand, mealPlan.getBreakfastRecipe(), mealPlan.getBreakfastPortionSize());
+        addRecipe(demand, mealPlan.getLunchRecipe(), mealPlan.getLunchPortionSize());
+        addRecipe(demand, mealPlan.getDinnerRecipe(), mealPlan.getDinnerPortionSize());
+        return demand;
+    }
+
+    private void addRecipe(Map<Long, Map<QuantityUnit, Double>> demand, Recipe recipe, int portionSize) {
+        if (recipe == null || recipe.getIngredients() == null) {
+            return;
+        }
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            if (ingredient.getAmount() != null && ingredient.getCatalogEntryId() != null) {
+                double scaledAmount = ingredient.getAmount() * portionSize;
+                demand.computeIfAbsent(ingredient.getCatalogEntryId(), k -> new HashMap<>())
+                        .merge(ingredient.getUnit(), scaledAmount, Double::sum);
+            }
+        }
+    }
+
+    private List<DailyIngredientDemand> toRows(String tenantId, LocalDate date, Map<Long, Map<QuantityUnit, Double>> demand) {
+        List<DailyIngredientDemand> rows = new ArrayList<>();
+        for (Map.Entry<Long, Map<QuantityUnit, Double>> ingredient : demand.entrySet()) {
+            for (Map.Entry<QuantityUnit, Double> unit : ingredient.getValue().entrySet()) {
+                rows.add(new DailyIngredientDemand(tenantId, date, ingredient.getKey(), unit.getKey(), unit.getValue()));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,133 @@
+package backend.service;
+
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.IngredientCatalogEntry;
+import backend.model.Recipe.Recipe;
+import backend.repository.IngredientCatalogRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class to link recipe ingredients to the ingredient catalogue of their tenant.
+ * Ingredients with the same normalized name share one {@link IngredientCatalogEntry}; missing entries are created
+ * with the name, unit and nutritional values of the first ingredient. Ingredients without a name share the entry {@value IngredientCatalogEntry#UNNAMED}.
+ */
+@Service
+public class IngredientCatalogService {
+
+    private final IngredientCatalogRepository catalogRepository;
+    private final TransactionTemplate newTransaction;
+
+    // Constructor to inject the IngredientCatalogRepository and PlatformTransactionManager dependencies
+    public IngredientCatalogService(IngredientCatalogRepository catalogRepository, PlatformTransactionManager transactionManager) {
+        this.catalogRepository = catalogRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Sets the catalogue entry of all ingredients of the recipes. The existing entries are loaded with one query
+     * and the missing ones are saved in one batch, independent of the number of recipes.
+     *
+     * @param tenantId the tenant's ID
+     * @param recipes  the recipes whose ingredients are linked
+     */
+    @Transactional
+    public void resolve(String tenantId, Collection<Recipe> recipes) {
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (Recipe recipe : recipes) {
+            if (recipe.getIngredients() != null) {
+                ingredients.addAll(recipe.getIngredients());
+            }
+        }
+        resolveIngredients(tenantId, ingredients);
+    }
+
+    /**
+     * Sets the catalogue entry of the given ingredients, like {@link #resolve} does for whole recipes.
+     *
+     * @param tenantId    the tenant's ID
+     * @param ingredients the ingredients to link
+     */
+    @Transactional
+    public void resolveIngredients(String tenantId, Collection<Ingredient> ingredients) {
+        if (ingredients.isEmpty()) {
+            return;
+        }
+        // First ingredient per normalized name, a missing entry is created from it
+        Map<String, Ingredient> firstIngredients = new HashMap<>();
+        for (Ingredient ingredient : ingredients) {
+            firstIngredients.putIfAbsent(IngredientCatalogEntry.normalize(ingredient.getName()), ingredient);
+        }
+
+        Map<String, IngredientCatalogEntry> entries = new HashMap<>();
+        for (IngredientCatalogEntry entry : catalogRepository.findByTenantIdAndNormalizedNameIn(tenantId, firstIngredients.keySet())) {
+            entries.put(entry.getNormalizedName(), entry);
+        }
+
+        Map<String, Ingredient> missing = new HashMap<>(firstIngredients);
+        missing.keySet().removeAll(entries.keySet());
+        if (!missing.isEmpty()) {
+            insert(tenantId, missing.values());
+            // A locking read sees the entries committed by other transactions since this one started
+            for (IngredientCatalogEntry entry : catalogRepository.findForShareByTenantIdAndNormalizedNameIn(tenantId, missing.keySet())) {
+                entries.put(entry.getNormalizedName(), entry);
+            }
+        }
+
+        for (Ingredient ingredient : ingredients) {
+            ingredient.setCatalogEntry(entries.get(IngredientCatalogEntry.normalize(ingredient.getName())));
+        }
+    }
+
+    /**
+     * Creates the entries in their own transaction. If another transaction created one of them in the meantime,
+     * the unique constraint rejects the batch; then every entry is inserted on its own and the existing ones are skipped.
+     */
+    private void insert(String tenantId, Collection<Ingredient> firstIngredients) {
+        try {
+            newTransaction.executeWithoutResult(status -> catalogRepository.saveAllAndFlush(newEntries(tenantId, firstIngredients)));
+        } catch (DataIntegrityViolationException e) {
+            for (Ingredient ingredient : firstIngredients) {
+                try {
+                    newTransaction.executeWithoutResult(status -> catalogRepository.saveAndFlush(new IngredientCatalogEntry(tenantId, ingredient)));
+                } catch (DataIntegrityViolationException duplicate) {
+                    // Created by a concurrent transaction, read below
+                }
+            }
+        }
+    }
+
+    private static List<IngredientCatalogEntry> newEntries(String tenantId, Collection<Ingredient> firstIngredients) {
+        List<IngredientCatalogEntry> entries = new ArrayList<>(firstIngredients.size());
+        for (Ingredient ingredient : firstIngredients) {
+            entries.add(new IngredientCatalogEntry(tenantId, ingredient));
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the names of the given catalogue entries.
+     *
+     * @param ids the IDs of the catalogue entries
+     * @return the name per entry ID
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, String> findNames(Collection<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+        for (IngredientCatalogEntry entry : catalogRepository.findAllById(ids)) {
+            names.put(entry.getId(), entry.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,425 @@
+package backend.service;
+
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.IngredientCatalogEntry;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache for ingredient searches.
+ * <p>
+ * Queries are normalized like catalogue names ({@link IngredientCatalogEntry#normalize}) before the lookup.
+ * Concurrent misses for the same query share one upstream request. The entries are written to a local JSON file
+ * in the background and loaded again on startup, so the cache survives restarts.
+ * </p>
+ * <p>
+ * The results are kept as immutable {@link Product}s. Every caller receives new {@link Ingredient} objects, so
+ * changing a returned ingredient (e.g. when it is added to a recipe) never changes the cached result.
+ * </p>
+ */
+@Component
+public class IngredientSearchCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngredientSearchCache.class);
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Path storeFile;
+    private final ObjectMapper objectMapper;
+
+    // Access-ordered map that evicts the least recently used entry once maxEntries is exceeded
+    private final LinkedHashMap<String, Entry> entries;
+    private final Map<String, CompletableFuture<List<Product>>> inFlight = new ConcurrentHashMap<>();
+
+    private final ExecutorService storeWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ingredient-cache-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sharedLoads = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAccumulator maxLoadNanos = new LongAccumulator(Long::max, 0);
+
+    public IngredientSearchCache(@Value("${ingredient.search.cache.max-entries:1000}") int maxEntries,
+                                 @Value("${ingredient.search.cache.ttl:PT24H}") Duration ttl,
+                                 @Value("${ingredient.search.cache.file:data/ingredient-search-cache.json}") String storeFile,
+                                 ObjectMapper objectMapper) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.storeFile = storeFile.isBlank() ? null : Path.of(storeFile);
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IngredientSearchCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result of a query or loads it. If the same query is already being loaded,
+     * the running load is shared instead of starting another one. Failed loads are not cached.
+     *
+     * @param query  the raw query
+     * @param loader loads the result of a normalized query
+     * @return the ingredients found for the query
+     */
+    public CompletableFuture<List<Ingredient>> get(String query, Function<String, CompletableFuture<List<Ingredient>>> loader) {
+        String key = IngredientCatalogEntry.normalize(query);
+
+        List<Product> cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(toIngredients(cached));
+        }
+        misses.increment();
+
+        CompletableFuture<List<Product>> future = new CompletableFuture<>();
+        CompletableFuture<List<Product>> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            sharedLoads.increment();
+            return running.thenApply(IngredientSearchCache::toIngredients);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<List<Ingredient>> load;
+        try {
+            load = loader.apply(key);
+        } catch (RuntimeException e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+        load.whenComplete((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            loads.increment();
+            loadNanos.add(elapsed);
+            maxLoadNanos.accumulate(elapsed);
+            if (error != null) {
+                inFlight.remove(key, future);
+                loadFailures.increment();
+                future.completeExceptionally(error);
+            } else {
+                List<Product> products = toProducts(result);
+                // Cache before leaving the in-flight map, so a concurrent miss either joins this load or finds the entry
+                put(key, products);
+                inFlight.remove(key, future);
+                future.complete(products);
+            }
+        });
+        return future.thenApply(IngredientSearchCache::toIngredients);
+    }
+
+    /**
+     * Returns the current hit, miss and latency counters.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    public Stats getStats() {
+        long loadCount = loads.sum();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(size, maxEntries, hits.sum(), misses.sum(), sharedLoads.sum(), loadCount, loadFailures.sum(),
+                loadCount == 0 ? 0.0 : loadNanos.sum() / 1_000_000.0 / loadCount,
+                maxLoadNanos.get() / 1_000_000.0);
+    }
+
+    private static List<Product> toProducts(List<Ingredient> ingredients) {
+        List<Product> products = new ArrayList<>(ingredients.size());
+        for (Ingredient ingredient : ingredients) {
+            products.add(new Product(ingredient.getName(), ingredient.getCalories(), ingredient.getProteins(),
+                    ingredient.getFats(), ingredient.getCarbohydrates()));
+        }
+        return List.copyOf(products);
+    }
+
+    private static List<Ingredient> toIngredients(List<Product> products) {
+        List<Ingredient> ingredients = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ingredients.add(product.toIngredient());
+        }
+        return ingredients;
+    }
+
+    private List<Product> lookup(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.getExpiresAt() <= System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.getIngredients();
+        }
+    }
+
+    private void put(String key, List<Product> products) {
+        synchronized (entries) {
+            entries.put(key, new Entry(key, System.currentTimeMillis() + ttlMillis, products));
+        }
+        scheduleStore();
+    }
+
+    /**
+     * Loads the entries that have not expired yet from the store file.
+     */
+    @PostConstruct
+    void load() {
+        if (storeFile == null || !Files.exists(storeFile)) {
+            return;
+        }
+        try {
+            List<Entry> stored = objectMapper.readValue(storeFile.toFile(), new TypeReference<List<Entry>>() {});
+            long now = System.currentTimeMillis();
+            synchronized (entries) {
+                for (Entry entry : stored) {
+                    if (entry.getExpiresAt() > now && entry.getIngredients() != null) {
+                        entry.setIngredients(List.copyOf(entry.getIngredients()));
+                        entries.put(entry.getQuery(), entry);
+                    }
+                }
+            }
+            logger.info("Loaded {} ingredient searches from {}", entries.size(), storeFile);
+        } catch (IOException e) {
+            logger.warn("Could not read the ingredient search cache from {}: {}", storeFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the remaining entries to the store file before shutdown.
+     */
+    @PreDestroy
+    void close() throws InterruptedException {
+        storeWriter.shutdown();
+        storeWriter.awaitTermination(5, TimeUnit.SECONDS);
+        if (dirty.get()) {
+            store();
+        }
+    }
+
+    // Changes in quick succession are written with a single store
+    private void scheduleStore() {
+        if (storeFile != null && dirty.compareAndSet(false, true) && !storeWriter.isShutdown()) {
+            storeWriter.execute(this::store);
+        }
+    }
+
+    private void store() {
+        dirty.set(false);
+        List<Entry> snapshot;
+        synchronized (entries) {
+            snapshot = new ArrayList<>(entries.values());
+        }
+        try {
+            Path directory = storeFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, "ingredient-search-cache", ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), snapshot);
+            Files.move(tempFile, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write the ingredient search cache to {}: {}", storeFile, e.getMessage());
+        }
+    }
+
+    /**
+     * A cached search result; also the format of the store file.
+     */
+    static class Entry {
+
+        private String query;
+        private long expiresAt;
+        private List<Product> ingredients;
+
+        // Standard Constructor
+        Entry() {}
+
+        Entry(String query, long expiresAt, List<Product> ingredients) {
+            this.query = query;
+            this.expiresAt = expiresAt;
+            this.ingredients = ingredients;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public void setQuery(String query) {
+            this.query = query;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        public void setExpiresAt(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        public List<Product> getIngredients() {
+            return ingredients;
+        }
+
+        public void setIngredients(List<Product> ingredients) {
+            this.ingredients = ingredients;
+        }
+    }
+
+    /**
+     * An immutable search result: the product name and its nutritional values per 100g.
+     */
+    public static class Product {
+
+        private final String name;
+        private final Double calories;
+        private final Double proteins;
+        private final Double fats;
+        private final Double carbohydrates;
+
+        @JsonCreator
+        public Product(@JsonProperty("name") String name,
+                       @JsonProperty("calories") Double calories,
+                       @JsonProperty("proteins") Double proteins,
+                       @JsonProperty("fats") Double fats,
+                       @JsonProperty("carbohydrates") Double carbohydrates) {
+            this.name = name;
+            this.calories = calories;
+            this.proteins = proteins;
+            this.fats = fats;
+            this.carbohydrates = carbohydrates;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Double getCalories() {
+            return calories;
+        }
+
+        public Double getProteins() {
+            return proteins;
+        }
+
+        public Double getFats() {
+            return fats;
+        }
+
+        public Double getCarbohydrates() {
+            return carbohydrates;
+        }
+
+        /**
+         * Creates a new, unsaved ingredient with the name and nutritional values of this product.
+         */
+        public Ingredient toIngredient() {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setName(name);
+            ingredient.setCalories(calories);
+            ingredient.setProteins(proteins);
+            ingredient.setFats(fats);
+            ingredient.setCarbohydrates(carbohydrates);
+            return ingredient;
+        }
+    }
+
+    /**
+     * Snapshot of the cache counters. Latencies are the upstream load times in milliseconds.
+     */
+    public static class Stats {
+
+        private final int size;
+        private final int maxEntries;
+        private final long hits;
+        private final long misses;
+        private final long sharedLoads;
+        private final long loads;
+        private final long loadFailures;
+        private final double averageLoadMillis;
+        private final double maxLoadMillis;
+
+        public Stats(int size, int maxEntries, long hits, long misses, long sharedLoads, long loads,
+                     long loadFailures, double averageLoadMillis, double maxLoadMillis) {
+            this.size = size;
+            this.maxEntries = maxEntries;
+            this.hits = hits;
+            this.misses = misses;
+            this.sharedLoads = sharedLoads;
+            this.loads = loads;
+            this.loadFailures = loadFailures;
+            this.averageLoadMillis = averageLoadMillis;
+            this.maxLoadMillis = maxLoadMillis;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getSharedLoads() {
+            return sharedLoads;
+        }
+
+        public long getLoads() {
+            return loads;
+        }
+
+        public long getLoadFailures() {
+            return loadFailures;
+        }
+
+        public double getAverageLoadMillis() {
+            return averageLoadMillis;
+        }
+
+        public double getMaxLoadMillis() {
+            return maxLoadMillis;
+        }
+    }
+}
@@ -1,61 +1,125 @@
 package backend.service;
 
 import backend.model.Recipe.Ingredient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class IngredientService {
 
-    // Base URL for the Open Food Facts API
-    private static final String OPEN_FOOD_FACTS_API_URL = "https://world.openfoodfacts.org/cgi/search.pl";
+    private static final Logger logger = LoggerFactory.getLogger(IngredientService.class);
+
+    // Number of results per search, for the local catalogue and the API
+    private static final int PAGE_SIZE = 5;
+
+    private final IngredientSearchCache searchCache;
+    private final WebClient webClient;
+    private final NutritionCatalogue catalogue;
+
+    // URL of the Open Food Facts search API
+    private final String searchUrl;
+
+    // Constructor to inject the IngredientSearchCache, WebClient and NutritionCatalogue dependencies
+    public IngredientService(IngredientSearchCache searchCache, WebClient webClient, NutritionCatalogue catalogue,
+                             @Value("${ingredient.search.url:https://world.openfoodfacts.org/cgi/search.pl}") String searchUrl) {
+        this.searchCache = searchCache;
+        this.webClient = webClient;
+        this.catalogue = catalogue;
+        this.searchUrl = searchUrl;
+    }
 
     /**
      * Searches for ingredients from the Open Food Facts API based on a query string.
+     * If a local {@link NutritionCatalogue} is loaded and has matching products, the search is answered from it.
+     * Otherwise results are served from the {@link IngredientSearchCache} if the query was searched before.
+     * The request does not block the calling thread; the returned future completes when the response arrives.
      *
      * @param query the search term used to find ingredients
-     * @return a list of ingredients matching the search query
+     * @return a future of the list of ingredients matching the search query, empty in case of error
+     */
+    public CompletableFuture<List<Ingredient>> searchIngredientsFromAPI(String query) {
+        if (catalogue.isLoaded()) {
+            List<Ingredient> ingredients = catalogue.search(query, PAGE_SIZE);
+            if (!ingredients.isEmpty()) {
+                return CompletableFuture.completedFuture(ingredients);
+            }
+        }
+        return searchCache.get(query, this::fetchIngredients)
+                .exceptionally(e -> {
+                    logger.warn("Ingredient search for '{}' failed: {}", query, e.getMessage());
+                    return new ArrayList<>();  // Return an empty list in case of error
+                });
+    }
+
+    /**
+     * Returns the hit, miss and latency counters of the ingredient search cache.
+     *
+     * @return the cache statistics
      */
-    public List<Ingredient> searchIngredientsFromAPI(String query) {
-        RestTemplate restTemplate = new RestTemplate();
-        String apiUrl = OPEN_FOOD_FACTS_API_URL +
-                "?search_terms=" + query +
-                "&search_simple=1&action=process&json=1&page_size=5";
-
-        try {
-            // Make a GET request to the Open Food Facts API
-            Map<String, Object> response = restTemplate.getForObject(apiUrl, Map.class);
-            List<Map<String, Object>> products = (List<Map<String, Object>>) response.get("products");
-
-            List<Ingredient> ingredients = new ArrayList<>();
-            // Process each product in the response
-            for (Map<String, Object> product : products) {
-                String productName = (String) product.get("product_name");
-                Map<String, Object> nutriments = (Map<String, Object>) product.get("nutriments");
-
-                if (productName != null && !productName.isEmpty() && nutriments != null) {
-                    // Create a new Ingredient object
-                    Ingredient ingredient = new Ingredient();
-                    ingredient.setName(productName);
-
-                    // Extract nutritional values with type safety
-                    ingredient.setCalories(getNutrientValue(nutriments, "energy-kcal_100g"));
-                    ingredient.setProteins(getNutrientValue(nutriments, "proteins_100g"));
-                    ingredient.setFats(getNutrientValue(nutriments, "fat_100g"));
-                    ingredient.setCarbohydrates(getNutrientValue(nutriments, "carbohydrates_100g"));
-
-                    ingredients.add(ingredient);
-                }
+    public IngredientSearchCache.Stats getSearchCacheStats() {
+        return searchCache.getStats();
+    }
+
+    /**
+     * Fetches ingredients from the Open Food Facts API. Errors complete the future exceptionally, so that they are not cached.
+     *
+     * @param query the search term used to find ingredients
+     * @return a future of the list of ingredients matching the search query
+     */
+    private CompletableFuture<List<Ingredient>> fetchIngredients(String query) {
+        return webClient.get()
+                .uri(searchUrl, uriBuilder -> uriBuilder
+                        .queryParam("search_terms", query)
+                        .queryParam("search_simple", 1)
+                        .queryParam("action", "process")
+                        .queryParam("json", 1)
+                        .queryParam("page_size", PAGE_SIZE)
+                        .build())
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .map(this::toIngredients)
+                .toFuture();
+    }
+
+    /**
+     * Converts the products of an Open Food Facts search response into ingredients.
+     *
+     * @param response the parsed search response
+     * @return the ingredients with name and nutritional values
+     */
+    private List<Ingredient> toIngredients(Map<String, Object> response) {
+        List<Map<String, Object>> products = (List<Map<String, Object>>) response.get("products");
+
+        List<Ingredient> ingredients = new ArrayList<>();
+        // Process each product in the response
+        for (Map<String, Object> product : products) {
+            String productName = (String) product.get("product_name");
+            Map<String, Object> nutriments = (Map<String, Object>) product.get("nutriments");
+
+            if (productName != null && !productName.isEmpty() && nutriments != null) {
+                // Create a new Ingredient object
+                Ingredient ingredient = new Ingredient();
+                ingredient.setName(productName);
+
+                // Extract nutritional values with type safety
+                ingredient.setCalories(getNutrientValue(nutriments, "energy-kcal_100g"));
+                ingredient.setProteins(getNutrientValue(nutriments, "proteins_100g"));
+                ingredient.setFats(getNutrientValue(nutriments, "fat_100g"));
+                ingredient.setCarbohydrates(getNutrientValue(nutriments, "carbohydrates_100g"));
+
+                ingredients.add(ingredient);
             }
-            return ingredients;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return new ArrayList<>();  // Return an empty list in case of error
         }
+        return ingredients;
     }
 
     /**
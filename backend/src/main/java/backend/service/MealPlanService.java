@@ -5,8 +5,10 @@ import backend.model.Recipe.Recipe;
 import backend.repository.MealPlanRepository;
 import backend.repository.RecipeRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,11 +17,16 @@ public class MealPlanService {
 
     private final MealPlanRepository mealPlanRepository;
     private final RecipeRepository recipeRepository;
+    private final CookingStatisticRollupService rollupService;
+    private final DailyIngredientDemandService demandService;
 
-    // Constructor to inject the MealPlanRepository and RecipeRepository dependencies
-    public MealPlanService(MealPlanRepository mealPlanRepository, RecipeRepository recipeRepository) {
+    // Constructor to inject the MealPlanRepository, RecipeRepository, CookingStatisticRollupService and DailyIngredientDemandService dependencies
+    public MealPlanService(MealPlanRepository mealPlanRepository, RecipeRepository recipeRepository,
+                           CookingStatisticRollupService rollupService, DailyIngredientDemandService demandService) {
         this.mealPlanRepository = mealPlanRepository;
         this.recipeRepository = recipeRepository;
+        this.rollupService = rollupService;
+        this.demandService = demandService;
     }
 
     /**
@@ -36,6 +43,7 @@ public class MealPlanService {
      * @return the saved MealPlan object
      * @throws IllegalArgumentException if a meal plan already exists for the given date and tenantId
      */
+    @Transactional
     public MealPlan saveMealPlan(String tenantId, LocalDate date, Long breakfastRecipeId, int breakfastPortionSize,
                                  Long lunchRecipeId, int lunchPortionSize,
                                  Long dinnerRecipeId, int dinnerPortionSize) {
@@ -62,8 +70,11 @@ public class MealPlanService {
         MealPlan mealPlan = new MealPlan(tenantId, date, breakfastRecipe, breakfastPortionSize,
                 lunchRecipe, lunchPortionSize, dinnerRecipe, dinnerPortionSize);
 
-        // Save the new meal plan in the repository
-        return mealPlanRepository.save(mealPlan);
+        // Save the new meal plan in the repository and update the statistic rollup and ingredient demand of the day
+        MealPlan savedMealPlan = mealPlanRepository.save(mealPlan);
+        rollupService.refresh(savedMealPlan);
+        demandService.refresh(savedMealPlan);
+        return savedMealPlan;
     }
 
     /**
@@ -80,6 +91,7 @@ public class MealPlanService {
      * @return the updated MealPlan object
      * @throws IllegalArgumentException if no meal plan exists for the given date and tenantId
      */
+    @Transactional
     public MealPlan updateMealPlan(String tenantId, LocalDate date, Long breakfastRecipeId, int breakfastPortionSize,
                                    Long lunchRecipeId, int lunchPortionSize,
                                    Long dinnerRecipeId, int dinnerPortionSize) {
@@ -109,8 +121,11 @@ public class MealPlanService {
         existingMealPlan.setDinnerRecipe(dinnerRecipe);
         existingMealPlan.setDinnerPortionSize(dinnerPortionSize);
 
-        // Save the updated meal plan in the repository
-        return mealPlanRepository.save(existingMealPlan);
+        // Save the updated meal plan in the repository and update the statistic rollup and ingredient demand of the day
+        MealPlan savedMealPlan = mealPlanRepository.save(existingMealPlan);
+        rollupService.refresh(savedMealPlan);
+        demandService.refresh(savedMealPlan);
+        return savedMealPlan;
     }
 
     /**
@@ -139,19 +154,26 @@ public class MealPlanService {
      *
      * @param tenantId the tenant's ID
      * @param date the date for the meal plan
-     * @return true if the meal plan was deleted, false otherwise
+     * @return true if the meal plan was deleted, false if there is none or the date is invalid
      */
+    @Transactional
     public boolean deleteMealPlanByDate(String tenantId, String date) {
+        LocalDate parsedDate;
         try {
-            // Attempt to find the meal plan for the specified date and tenantId
-            Optional<MealPlan> mealPlan = mealPlanRepository.findByTenantIdAndDate(tenantId, LocalDate.parse(date));
-
-            // If the meal plan exists, delete it
-            mealPlan.ifPresent(mealPlanRepository::delete);
-            return mealPlan.isPresent();
-        } catch (Exception e) {
-            // Return false if an error occurs (e.g., invalid date format)
-            return false;
+            parsedDate = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return false; // Invalid date format
         }
+
+        // Attempt to find the meal plan for the specified date and tenantId
+        Optional<MealPlan> mealPlan = mealPlanRepository.findByTenantIdAndDate(tenantId, parsedDate);
+
+        // If the meal plan exists, delete it together with the statistic rollup and ingredient demand of the day
+        mealPlan.ifPresent(deleted -> {
+            mealPlanRepository.delete(deleted);
+            rollupService.remove(tenantId, parsedDate);
+            demandService.remove(tenantId, parsedDate);
+        });
+        return mealPlan.isPresent();
     }
 }
@@ -0,0 +1,203 @@
+package backend.service;
+
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.IngredientCatalogEntry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local, read-only nutrition catalogue that is memory-mapped from a file written by {@link NutritionCatalogueImporter}.
+ * <p>
+ * The file holds a fixed-size entry per product, sorted by the normalized product name, followed by the UTF-8
+ * names. A prefix search is a binary search over the mapped entries, so neither loading nor searching creates
+ * objects per product; only the returned ingredients are allocated.
+ * </p>
+ * <pre>
+ * header:  int magic, int version, int count
+ * entries: count x (int keyOffset, int keyLength, int nameOffset, int nameLength,
+ *                   float calories, float proteins, float fats, float carbohydrates)
+ * strings: UTF-8 bytes, offsets are relative to the start of this section
+ * </pre>
+ */
+@Component
+public class NutritionCatalogue {
+
+    private static final Logger logger = LoggerFactory.getLogger(NutritionCatalogue.class);
+
+    static final int MAGIC = 0x4E434154; // "NCAT"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 12;
+    static final int ENTRY_SIZE = 32;
+
+    private final Path catalogueFile;
+
+    // Replaced as a whole on reload, so searches never see a half-loaded catalogue
+    private volatile Index index;
+
+    public NutritionCatalogue(@Value("${nutrition.catalogue.file:}") String catalogueFile) {
+        this.catalogueFile = catalogueFile.isBlank() ? null : Path.of(catalogueFile);
+    }
+
+    /**
+     * Returns the configured catalogue file, or null if no catalogue is configured.
+     */
+    public Path getCatalogueFile() {
+        return catalogueFile;
+    }
+
+    /**
+     * Returns whether a catalogue is loaded and searches can be answered locally.
+     */
+    public boolean isLoaded() {
+        return index != null;
+    }
+
+    /**
+     * Returns the number of products in the loaded catalogue.
+     */
+    public int size() {
+        Index current = index;
+        return current == null ? 0 : current.count;
+    }
+
+    /**
+     * Maps the catalogue file into memory, replacing a previously loaded catalogue.
+     * Nothing is loaded if no file is configured or the file does not exist.
+     */
+    @PostConstruct
+    public void reload() {
+        if (catalogueFile == null || !Files.exists(catalogueFile)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(catalogueFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalogue is larger than 2 GB");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Unknown catalogue format");
+            }
+            int count = buffer.getInt(8);
+            index = new Index(buffer, count, HEADER_SIZE + count * ENTRY_SIZE);
+            logger.info("Loaded nutrition catalogue with {} products from {}", count, catalogueFile);
+        } catch (IOException e) {
+            logger.warn("Could not load the nutrition catalogue from {}: {}", catalogueFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Finds the products whose normalized name starts with the normalized query.
+     *
+     * @param query the search term
+     * @param limit the maximum number of results
+     * @return the matching products as ingredients, ordered by name
+     */
+    public List<Ingredient> search(String query, int limit) {
+        Index current = index;
+        List<Ingredient> ingredients = new ArrayList<>();
+        if (current == null) {
+            return ingredients;
+        }
+        byte[] prefix = IngredientCatalogEntry.normalize(query).getBytes(StandardCharsets.UTF_8);
+
+        // Lower bound: first entry whose key is not smaller than the prefix
+        int low = 0;
+        int high = current.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (current.compareKey(mid, prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        for (int i = low; i < current.count && ingredients.size() < limit && current.keyStartsWith(i, prefix); i++) {
+            ingredients.add(current.toIngredient(i));
+        }
+        return ingredients;
+    }
+
+    /**
+     * View of a mapped catalogue file. Only absolute reads are used, so the buffer can be shared between threads.
+     */
+    private static class Index {
+
+        private final MappedByteBuffer buffer;
+        private final int count;
+        private final int stringsStart;
+
+        Index(MappedByteBuffer buffer, int count, int stringsStart) {
+            this.buffer = buffer;
+            this.count = count;
+            this.stringsStart = stringsStart;
+        }
+
+        private int entry(int i) {
+            return HEADER_SIZE + i * ENTRY_SIZE;
+        }
+
+        /**
+         * Compares the key of an entry with the given bytes as unsigned bytes.
+         */
+        int compareKey(int i, byte[] other) {
+            int entry = entry(i);
+            int keyStart = stringsStart + buffer.getInt(entry);
+            int keyLength = buffer.getInt(entry + 4);
+            int length = Math.min(keyLength, other.length);
+            for (int j = 0; j < length; j++) {
+                int cmp = Byte.toUnsignedInt(buffer.get(keyStart + j)) - Byte.toUnsignedInt(other[j]);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return keyLength - other.length;
+        }
+
+        boolean keyStartsWith(int i, byte[] prefix) {
+            int entry = entry(i);
+            int keyStart = stringsStart + buffer.getInt(entry);
+            if (buffer.getInt(entry + 4) < prefix.length) {
+                return false;
+            }
+            for (int j = 0; j < prefix.length; j++) {
+                if (buffer.get(keyStart + j) != prefix[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Ingredient toIngredient(int i) {
+            int entry = entry(i);
+            byte[] name = new byte[buffer.getInt(entry + 12)];
+            buffer.get(stringsStart + buffer.getInt(entry + 8), name);
+
+            Ingredient ingredient = new Ingredient();
+            ingredient.setName(new String(name, StandardCharsets.UTF_8));
+            ingredient.setCalories(toDouble(buffer.getFloat(entry + 16)));
+            ingredient.setProteins(toDouble(buffer.getFloat(entry + 20)));
+            ingredient.setFats(toDouble(buffer.getFloat(entry + 24)));
+            ingredient.setCarbohydrates(toDouble(buffer.getFloat(entry + 28)));
+            return ingredient;
+        }
+
+        // Widens via the decimal representation, so 3.7f becomes 3.7 instead of 3.700000047683716
+        private static Double toDouble(float value) {
+            return Double.parseDouble(Float.toString(value));
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package backend.service;
+
+import backend.model.Recipe.IngredientCatalogEntry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports an Open Food Facts export into the file format of the {@link NutritionCatalogue}.
+ * <p>
+ * Supported are the CSV export (tab- or comma-separated, with header line) and the JSONL export, optionally
+ * gzip-compressed. Only the product name and the kcal, protein, fat and carbohydrate values per 100 g are kept.
+ * While importing, all products are held in primitive arrays and one byte array for the names, so the heap
+ * does not fill up with one object per product.
+ * </p>
+ */
+@Service
+public class NutritionCatalogueImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NutritionCatalogueImporter.class);
+
+    // Same fields as IngredientService#getNutrientValue reads from the API
+    private static final String NAME_FIELD = "product_name";
+    private static final String[] NUTRIENT_FIELDS = {"energy-kcal_100g", "proteins_100g", "fat_100g", "carbohydrates_100g"};
+    private static final int MAX_NAME_BYTES = 1024;
+
+    private final NutritionCatalogue catalogue;
+    private final ObjectMapper objectMapper;
+
+    // Constructor to inject the NutritionCatalogue and ObjectMapper dependencies
+    public NutritionCatalogueImporter(NutritionCatalogue catalogue, ObjectMapper objectMapper) {
+        this.catalogue = catalogue;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Imports an export file into the configured catalogue file and loads the new catalogue.
+     *
+     * @param dump the Open Food Facts export
+     * @return the number of products in the catalogue
+     * @throws IOException if the export cannot be read or the catalogue cannot be written
+     */
+    public int importDump(Path dump) throws IOException {
+        if (catalogue.getCatalogueFile() == null) {
+            throw new IllegalStateException("No nutrition catalogue file configured (nutrition.catalogue.file)");
+        }
+        int count = importDump(dump, catalogue.getCatalogueFile());
+        catalogue.reload();
+        return count;
+    }
+
+    /**
+     * Imports an export file into a catalogue file. Products without name or without any nutrient value are
+     * skipped; of several products with the same normalized name the first one is kept.
+     *
+     * @param dump   the Open Food Facts export
+     * @param target the catalogue file to write
+     * @return the number of products in the catalogue
+     * @throws IOException if the export cannot be read or the catalogue cannot be written
+     */
+    public int importDump(Path dump, Path target) throws IOException {
+        long start = System.currentTimeMillis();
+        Products products = new Products();
+
+        String fileName = dump.getFileName().toString().toLowerCase();
+        try (BufferedReader reader = open(dump)) {
+            if (fileName.endsWith(".jsonl") || fileName.endsWith(".jsonl.gz") || fileName.endsWith(".json") || fileName.endsWith(".json.gz")) {
+                readJsonLines(reader, products);
+            } else {
+                readCsv(reader, products);
+            }
+        }
+
+        int[] order = products.sortedOrder();
+        int count = write(products, order, target);
+        logger.info("Imported {} products into {} in {} ms", count, target, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private BufferedReader open(Path dump) throws IOException {
+        InputStream in = Files.newInputStream(dump);
+        if (dump.getFileName().toString().toLowerCase().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private void readCsv(BufferedReader reader, Products products) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        char delimiter = header.indexOf('\t') >= 0 ? '\t' : ',';
+        List<String> columns = split(header, delimiter);
+        int nameColumn = columns.indexOf(NAME_FIELD);
+        if (nameColumn < 0) {
+            throw new IOException("Column " + NAME_FIELD + " not found");
+        }
+        int[] nutrientColumns = new int[NUTRIENT_FIELDS.length];
+        for (int i = 0; i < NUTRIENT_FIELDS.length; i++) {
+            nutrientColumns[i] = columns.indexOf(NUTRIENT_FIELDS[i]);
+        }
+
+        float[] nutrients = new float[NUTRIENT_FIELDS.length];
+        String line;
+        while ((line = reader.readLine()) != null) {
+            List<String> values = split(line, delimiter);
+            if (values.size() <= nameColumn) {
+                continue;
+            }
+            for (int i = 0; i < nutrients.length; i++) {
+                int column = nutrientColumns[i];
+                nutrients[i] = column >= 0 && column < values.size() ? parse(values.get(column)) : Float.NaN;
+            }
+            products.add(values.get(nameColumn), nutrients);
+        }
+    }
+
+    private void readJsonLines(BufferedReader reader, Products products) throws IOException {
+        float[] nutrients = new float[NUTRIENT_FIELDS.length];
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode product;
+            try {
+                product = objectMapper.readTree(line);
+            } catch (IOException e) {
+                continue; // Skip malformed lines
+            }
+            // The full export nests the values in "nutriments", flat exports have them on the product
+            JsonNode nutriments = product.has("nutriments") ? product.get("nutriments") : product;
+            for (int i = 0; i < nutrients.length; i++) {
+                JsonNode value = nutriments.get(NUTRIENT_FIELDS[i]);
+                nutrients[i] = value == null ? Float.NaN : value.isNumber() ? value.floatValue() : parse(value.asText());
+            }
+            products.add(product.path(NAME_FIELD).asText(null), nutrients);
+        }
+    }
+
+    private int write(Products products, int[] order, Path target) throws IOException {
+        // Drop duplicate keys; the sort is stable, so the first product of the export is kept
+        int count = 0;
+        long stringBytes = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i > 0 && products.compareKeys(order[i - 1], order[i]) == 0) {
+                continue;
+            }
+            order[count++] = order[i];
+            stringBytes += products.keyLength[order[i]] + products.nameLength[order[i]];
+        }
+        if (NutritionCatalogue.HEADER_SIZE + (long) count * NutritionCatalogue.ENTRY_SIZE + stringBytes > Integer.MAX_VALUE) {
+            throw new IOException("Catalogue would be larger than 2 GB");
+        }
+
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, "nutrition-catalogue", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+            out.writeInt(NutritionCatalogue.MAGIC);
+            out.writeInt(NutritionCatalogue.VERSION);
+            out.writeInt(count);
+
+            // Strings are written in the same order as the entries, so a prefix scan reads adjacent bytes
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                int product = order[i];
+                out.writeInt(offset);
+                out.writeInt(products.keyLength[product]);
+                offset += products.keyLength[product];
+                out.writeInt(offset);
+                out.writeInt(products.nameLength[product]);
+                offset += products.nameLength[product];
+                for (int n = 0; n < NUTRIENT_FIELDS.length; n++) {
+                    out.writeFloat(products.nutrients[product * NUTRIENT_FIELDS.length + n]);
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                int product = order[i];
+                out.write(products.strings, products.keyOffset[product], products.keyLength[product]);
+                out.write(products.strings, products.nameOffset[product], products.nameLength[product]);
+            }
+        }
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Splits a CSV line. Fields may be enclosed in double quotes; quoted line breaks are not supported.
+     */
+    static List<String> split(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static float parse(String value) {
+        if (value == null || value.isBlank()) {
+            return Float.NaN;
+        }
+        try {
+            return Float.parseFloat(value.trim().replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return Float.NaN;
+        }
+    }
+
+    /**
+     * Products of an export in column-oriented primitive arrays. Keys (normalized names) and names are
+     * appended to one byte array and addressed by offset and length.
+     */
+    private static class Products {
+
+        private int size;
+        private byte[] strings = new byte[1 << 20];
+        private int stringsLength;
+        private int[] keyOffset = new int[1024];
+        private int[] keyLength = new int[1024];
+        private int[] nameOffset = new int[1024];
+        private int[] nameLength = new int[1024];
+        private float[] nutrients = new float[1024 * NUTRIENT_FIELDS.length];
+
+        void add(String name, float[] values) {
+            if (name == null || name.isBlank()) {
+                return;
+            }
+            boolean hasNutrient = false;
+            for (float value : values) {
+                hasNutrient |= !Float.isNaN(value);
+            }
+            if (!hasNutrient) {
+                return;
+            }
+            byte[] nameBytes = name.trim().getBytes(StandardCharsets.UTF_8);
+            byte[] keyBytes = IngredientCatalogEntry.normalize(name).getBytes(StandardCharsets.UTF_8);
+            if (nameBytes.length > MAX_NAME_BYTES || keyBytes.length > MAX_NAME_BYTES) {
+                return;
+            }
+
+            if (size == keyOffset.length) {
+                int capacity = size * 2;
+                keyOffset = Arrays.copyOf(keyOffset, capacity);
+                keyLength = Arrays.copyOf(keyLength, capacity);
+                nameOffset = Arrays.copyOf(nameOffset, capacity);
+                nameLength = Arrays.copyOf(nameLength, capacity);
+                nutrients = Arrays.copyOf(nutrients, capacity * NUTRIENT_FIELDS.length);
+            }
+            keyOffset[size] = append(keyBytes);
+            keyLength[size] = keyBytes.length;
+            nameOffset[size] = append(nameBytes);
+            nameLength[size] = nameBytes.length;
+            for (int i = 0; i < values.length; i++) {
+                // Missing values are stored as 0, like IngredientService#getNutrientValue does
+                nutrients[size * NUTRIENT_FIELDS.length + i] = Float.isNaN(values[i]) ? 0f : values[i];
+            }
+            size++;
+        }
+
+        private int append(byte[] bytes) {
+            if (stringsLength + (long) bytes.length > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Export has more than 2 GB of product names");
+            }
+            if (stringsLength + bytes.length > strings.length) {
+                strings = Arrays.copyOf(strings, (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) strings.length * 2, stringsLength + bytes.length)));
+            }
+            System.arraycopy(bytes, 0, strings, stringsLength, bytes.length);
+            int offset = stringsLength;
+            stringsLength += bytes.length;
+            return offset;
+        }
+
+        int compareKeys(int a, int b) {
+            return Arrays.compareUnsigned(strings, keyOffset[a], keyOffset[a] + keyLength[a],
+                    strings, keyOffset[b], keyOffset[b] + keyLength[b]);
+        }
+
+        /**
+         * Returns the product indexes sorted by key with a stable merge sort on primitive arrays.
+         */
+        int[] sortedOrder() {
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            int[] buffer = new int[size];
+            for (int width = 1; width < size; width *= 2) {
+                for (int low = 0; low < size - width; low += 2 * width) {
+                    int mid = low + width;
+                    int high = Math.min(low + 2 * width, size);
+                    if (compareKeys(order[mid - 1], order[mid]) <= 0) {
+                        continue; // Already in order
+                    }
+                    int i = low, j = mid, k = low;
+                    while (i < mid && j < high) {
+                        buffer[k++] = compareKeys(order[i], order[j]) <= 0 ? order[i++] : order[j++];
+                    }
+                    while (i < mid) {
+                        buffer[k++] = order[i++];
+                    }
+                    while (j < high) {
+                        buffer[k++] = order[j++];
+                    }
+                    System.arraycopy(buffer, low, order, low, high - low);
+                }
+            }
+            return order;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package backend.service;
+
+import backend.model.Pantry.PantryItem;
+import backend.model.Pantry.PantryStock;
+import backend.model.Recipe.IngredientCatalogEntry;
+import backend.model.Recipe.UnitDimension;
+import backend.repository.IngredientCatalogRepository;
+import backend.repository.PantryItemRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service class to manage the pantry of a tenant: the stock of catalogue ingredients that is subtracted
+ * from the shopping lists. Amounts are stored in the base unit of their dimension.
+ */
+@Service
+public class PantryService {
+
+    private final PantryItemRepository pantryRepository;
+    private final IngredientCatalogRepository catalogRepository;
+
+    // Constructor to inject the PantryItemRepository and IngredientCatalogRepository dependencies
+    public PantryService(PantryItemRepository pantryRepository, IngredientCatalogRepository catalogRepository) {
+        this.pantryRepository = pantryRepository;
+        this.catalogRepository = catalogRepository;
+    }
+
+    /**
+     * Returns the pantry stock of a tenant, ordered by ingredient name.
+     *
+     * @param tenantId the tenant's ID
+     * @return the stock per ingredient and dimension
+     */
+    @Transactional(readOnly = true)
+    public List<PantryStock> getStock(String tenantId) {
+        return pantryRepository.findStockByTenantId(tenantId);
+    }
+
+    /**
+     * Sets the stock of many ingredients at once. The given amount replaces the stock of the ingredient in the
+     * dimension of its unit; an amount of 0 removes it. Ingredients that are not given stay unchanged.
+     * The ingredients and the existing stock are each loaded with one query, and the changes are written in batches.
+     *
+     * @param tenantId the tenant's ID
+     * @param stock    the new stock per ingredient
+     * @return the number of pantry entries that were added, changed or removed
+     * @throws IllegalArgumentException if an ingredient is unknown, an amount is negative or invalid, or a unit is missing
+     */
+    @Transactional
+    public int updateStock(String tenantId, List<PantryStock> stock) {
+        Map<Long, Map<UnitDimension, Double>> targets = resolveTargets(tenantId, stock);
+        if (targets.isEmpty()) {
+            return 0;
+        }
+
+        List<PantryItem> changedItems = new ArrayList<>();
+        List<PantryItem> removedItems = new ArrayList<>();
+        for (PantryItem item : pantryRepository.findByTenantIdAndCatalogEntryIdIn(tenantId, targets.keySet())) {
+            Map<UnitDimension, Double> amounts = targets.get(item.getCatalogEntryId());
+            Double baseAmount = amounts.remove(item.getDimension());
+            if (baseAmount == null) {
+                continue; // Other dimension of the same ingredient, not part of the update
+            }
+            if (baseAmount == 0) {
+                removedItems.add(item);
+            } else if (baseAmount != item.getBaseAmount()) {
+                item.setBaseAmount(baseAmount); // written by dirty checking
+                changedItems.add(item);
+            }
+        }
+
+        // Only ingredients without pantry entry are left
+        List<PantryItem> newItems = new ArrayList<>();
+        for (Map.Entry<Long, Map<UnitDimension, Double>> ingredient : targets.entrySet()) {
+            for (Map.Entry<UnitDimension, Double> amount : ingredient.getValue().entrySet()) {
+                if (amount.getValue() > 0) {
+                    newItems.add(new PantryItem(tenantId, ingredient.getKey(), amount.getKey(), amount.getValue()));
+                }
+            }
+        }
+        pantryRepository.deleteAll(removedItems);
+        pantryRepository.saveAll(newItems);
+        return changedItems.size() + removedItems.size() + newItems.size();
+    }
+
+    /**
+     * Validates the stock and converts it to base amounts per catalogue entry ID and dimension. Ingredients given
+     * by name are looked up by their normalized name; if an ingredient is given twice, the last amount wins.
+     */
+    private Map<Long, Map<UnitDimension, Double>> resolveTargets(String tenantId, List<PantryStock> stock) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (PantryStock entry : stock) {
+            if (entry.getUnit() == null) {
+                throw new IllegalArgumentException("Unit is missing for ingredient: " + describe(entry));
+            }
+            if (!Double.isFinite(entry.getAmount())) {
+                throw new IllegalArgumentException("Invalid amount for ingredient: " + describe(entry));
+            }
+            if (entry.getAmount() < 0) {
+                throw new IllegalArgumentException("Amount must not be negative for ingredient: " + describe(entry));
+            }
+            if (entry.getIngredientId() != null) {
+                ids.add(entry.getIngredientId());
+            } else if (entry.getIngredientName() != null && !entry.getIngredientName().isBlank()) {
+                names.add(IngredientCatalogEntry.normalize(entry.getIngredientName()));
+            } else {
+                throw new IllegalArgumentException("Ingredient ID or name is required.");
+            }
+        }
+
+        // Only catalogue entries of the tenant are accepted
+        Set<Long> knownIds = new HashSet<>();
+        if (!ids.isEmpty()) {
+            for (IngredientCatalogEntry entry : catalogRepository.findByTenantIdAndIdIn(tenantId, ids)) {
+                knownIds.add(entry.getId());
+            }
+        }
+        Map<String, Long> idsByName = new HashMap<>();
+        if (!names.isEmpty()) {
+            for (IngredientCatalogEntry entry : catalogRepository.findByTenantIdAndNormalizedNameIn(tenantId, names)) {
+                idsByName.put(entry.getNormalizedName(), entry.getId());
+            }
+        }
+
+        Map<Long, Map<UnitDimension, Double>> targets = new LinkedHashMap<>();
+        for (PantryStock entry : stock) {
+            Long id = entry.getIngredientId() != null
+                    ? (knownIds.contains(entry.getIngredientId()) ? entry.getIngredientId() : null)
+                    : idsByName.get(IngredientCatalogEntry.normalize(entry.getIngredientName()));
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown ingredient: " + describe(entry));
+            }
+            targets.computeIfAbsent(id, k -> new EnumMap<>(UnitDimension.class))
+                    .put(entry.getUnit().getDimension(), entry.getUnit().toBase(entry.getAmount()));
+        }
+        return targets;
+    }
+
+    private String describe(PantryStock entry) {
+        return entry.getIngredientId() != null ? String.valueOf(entry.getIngredientId()) : entry.getIngredientName();
+    }
+}
@@ -0,0 +1,434 @@
+package backend.service;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.MealPlan.MealPlanDTO;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.RecipeImportResult;
+import backend.repository.MealPlanRepository;
+import backend.repository.RecipeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports recipes from newline-delimited JSON (one recipe per line, in the format of {@code POST /api/recipes}).
+ * <p>
+ * The body is read line by line and each line is parsed on its own, so a broken record only rejects that record.
+ * Each record is fully buffered: its line is read into memory and parsed into a JSON tree before it is validated,
+ * so a single record may be up to {@code recipe.import.max-record-length} characters plus its tree.
+ * Valid recipes are collected into chunks; every chunk is saved in its own transaction with JDBC batching. Memory
+ * use is bounded by the chunk size and the maximum record size, not by the size of the import.
+ * </p>
+ * <p>
+ * The export of {@link TenantExportService} is accepted as well: gzip-compressed input is detected, and meal plan
+ * records ({@code "type": "mealPlan"}) are saved with the recipes created from the recipe records they reference.
+ * </p>
+ */
+@Service
+public class RecipeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeImportService.class);
+
+    // Listed in the error message of an unknown unit
+    private static final String UNIT_NAMES = Arrays.stream(QuantityUnit.values()).map(Enum::name).collect(Collectors.joining(", "));
+
+    private final RecipeRepository recipeRepository;
+    private final MealPlanRepository mealPlanRepository;
+    private final CookingStatisticRollupService rollupService;
+    private final DailyIngredientDemandService demandService;
+    private final IngredientCatalogService catalogService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int maxRecordLength;
+
+    // Constructor to inject the repositories, transaction template and import limits
+    public RecipeImportService(RecipeRepository recipeRepository, MealPlanRepository mealPlanRepository,
+                               CookingStatisticRollupService rollupService, DailyIngredientDemandService demandService,
+                               IngredientCatalogService catalogService,
+                               TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                               @Value("${recipe.import.chunk-size:500}") int chunkSize,
+                               @Value("${recipe.import.max-errors:100}") int maxErrors,
+                               @Value("${recipe.import.max-record-length:1048576}") int maxRecordLength) {
+        this.recipeRepository = recipeRepository;
+        this.mealPlanRepository = mealPlanRepository;
+        this.rollupService = rollupService;
+        this.demandService = demandService;
+        this.catalogService = catalogService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Imports the recipes and meal plans of an NDJSON stream for a tenant. Empty lines are skipped.
+     *
+     * @param tenantId The ID of the tenant.
+     * @param input    The NDJSON stream, UTF-8 encoded and optionally gzip-compressed.
+     * @return The number of imported and rejected records, with the reasons for the first rejections.
+     * @throws IOException if the stream cannot be read.
+     */
+    public RecipeImportResult importRecipes(String tenantId, InputStream input) throws IOException {
+        long start = System.currentTimeMillis();
+        Run run = new Run(tenantId);
+
+        Reader reader = new BufferedReader(new InputStreamReader(decompress(input), StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder();
+        long lineNumber = 0;
+        int length;
+        while ((length = readLine(reader, line)) >= 0) {
+            lineNumber++;
+            if (length > maxRecordLength) {
+                run.result.addError(lineNumber, "Record is longer than " + maxRecordLength + " characters");
+                continue;
+            }
+            if (line.toString().isBlank()) {
+                continue;
+            }
+            try {
+                run.add(lineNumber, parse(line.toString()));
+            } catch (IllegalArgumentException e) {
+                run.result.addError(lineNumber, e.getMessage());
+            }
+        }
+        run.saveRecipes();
+        run.saveMealPlans();
+
+        logger.info("Imported {} recipes and {} meal plans for tenantId: {} in {} ms, {} records rejected",
+                run.result.getImported(), run.result.getImportedMealPlans(), tenantId,
+                System.currentTimeMillis() - start, run.result.getFailed());
+        return run.result;
+    }
+
+    // Exports are gzip-compressed, plain NDJSON is read as it is
+    private static InputStream decompress(InputStream input) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(input, 2);
+        byte[] magic = new byte[2];
+        int read = pushback.readNBytes(magic, 0, 2);
+        pushback.unread(magic, 0, read);
+        if (read == 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B) {
+            return new GZIPInputStream(pushback, 64 * 1024);
+        }
+        return pushback;
+    }
+
+    /**
+     * Reads the next line into the buffer. Characters beyond the maximum record length are skipped, so an
+     * overlong line cannot fill the heap; the returned length tells the caller that the line was cut.
+     *
+     * @return the full length of the line, or -1 at the end of the stream
+     */
+    private int readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int length = 0;
+        int c;
+        while ((c = reader.read()) >= 0) {
+            if (c == '\n') {
+                return length;
+            }
+            if (c != '\r' && length++ < maxRecordLength) {
+                line.append((char) c);
+            }
+        }
+        return length == 0 ? -1 : length;
+    }
+
+    private JsonNode parse(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("Record is not a JSON object");
+            }
+            return node;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Validates and binds a recipe record. A record is accepted if {@code POST /api/recipes} accepts the same recipe:
+     * names may be blank, quantities may be free text like "1 Prise" and nutritional values may be missing.
+     * Only values that cannot be bound are rejected, with a message naming the offending field.
+     *
+     * @throws IllegalArgumentException if the record is not a valid recipe.
+     */
+    private Recipe toRecipe(JsonNode node) {
+        validateRecipe(node);
+
+        Recipe recipe;
+        try {
+            recipe = objectMapper.treeToValue(node, Recipe.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid recipe: " + e.getOriginalMessage());
+        }
+
+        // Always create new recipes, IDs of the source system are ignored
+        recipe.setId(null);
+        if (recipe.getIngredients() == null) {
+            recipe.setIngredients(new ArrayList<>());
+        }
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            ingredient.setId(null);
+            ingredient.setRecipe(recipe);
+        }
+        return recipe;
+    }
+
+    private static void validateRecipe(JsonNode node) {
+        if (!isNullOr(node.path("name"), JsonNode::isTextual)) {
+            throw new IllegalArgumentException("Name must be text");
+        }
+        if (!isNullOr(node.path("cookingTime"), JsonNode::isInt)) {
+            throw new IllegalArgumentException("Cooking time must be a number of minutes");
+        }
+
+        JsonNode ingredients = node.path("ingredients");
+        if (ingredients.isMissingNode() || ingredients.isNull()) {
+            return;
+        }
+        if (!ingredients.isArray()) {
+            throw new IllegalArgumentException("Ingredients must be an array");
+        }
+        for (int i = 0; i < ingredients.size(); i++) {
+            JsonNode ingredient = ingredients.get(i);
+            String prefix = "Ingredient " + (i + 1) + ": ";
+            if (!ingredient.isObject()) {
+                throw new IllegalArgumentException(prefix + "must be an object");
+            }
+            if (!isNullOr(ingredient.path("name"), JsonNode::isTextual)) {
+                throw new IllegalArgumentException(prefix + "name must be text");
+            }
+            if (!isNullOr(ingredient.path("quantity"), quantity -> quantity.isTextual() || quantity.isNumber())) {
+                throw new IllegalArgumentException(prefix + "quantity must be text or a number");
+            }
+            if (!isNullOr(ingredient.path("unit"), RecipeImportService::isUnit)) {
+                throw new IllegalArgumentException(prefix + "unit must be one of " + UNIT_NAMES);
+            }
+            for (String nutrient : new String[]{"calories", "proteins", "fats", "carbohydrates"}) {
+                if (!isNullOr(ingredient.path(nutrient), JsonNode::isNumber)) {
+                    throw new IllegalArgumentException(prefix + nutrient + " must be a number");
+                }
+            }
+        }
+    }
+
+    // Missing and null values are accepted like in POST /api/recipes
+    private static boolean isNullOr(JsonNode value, Predicate<JsonNode> valid) {
+        return value.isMissingNode() || value.isNull() || valid.test(value);
+    }
+
+    private static boolean isUnit(JsonNode unit) {
+        if (!unit.isTextual()) {
+            return false;
+        }
+        try {
+            QuantityUnit.valueOf(unit.asText());
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Validates a meal plan record and replaces the recipe IDs of the export with the IDs of the imported recipes.
+     *
+     * @throws IllegalArgumentException if the record is not a valid meal plan or references an unknown recipe.
+     */
+    private static MealPlanDTO toMealPlan(JsonNode node, Map<Long, Long> recipeIds) {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(node.path("date").asText());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date must be an ISO date (yyyy-MM-dd)");
+        }
+        return new MealPlanDTO(date,
+                importedRecipeId(node, "breakfastRecipeId", recipeIds), portionSize(node, "breakfastPortionSize"),
+                importedRecipeId(node, "lunchRecipeId", recipeIds), portionSize(node, "lunchPortionSize"),
+                importedRecipeId(node, "dinnerRecipeId", recipeIds), portionSize(node, "dinnerPortionSize"));
+    }
+
+    private static Long importedRecipeId(JsonNode node, String field, Map<Long, Long> recipeIds) {
+        JsonNode id = node.path(field);
+        if (id.isMissingNode() || id.isNull()) {
+            return null;
+        }
+        Long importedId = id.canConvertToLong() ? recipeIds.get(id.asLong()) : null;
+        if (importedId == null) {
+            throw new IllegalArgumentException(field + " references no imported recipe: " + id.asText());
+        }
+        return importedId;
+    }
+
+    private static int portionSize(JsonNode node, String field) {
+        JsonNode portionSize = node.path(field);
+        if (portionSize.isMissingNode() || portionSize.isNull()) {
+            return 0;
+        }
+        if (!portionSize.isInt() || portionSize.asInt() < 0) {
+            throw new IllegalArgumentException(field + " must be a non-negative number");
+        }
+        return portionSize.asInt();
+    }
+
+    /**
+     * State of one import: the pending chunks and the IDs of the recipes created so far.
+     */
+    private class Run {
+
+        private final String tenantId;
+        private final RecipeImportResult result = new RecipeImportResult(maxErrors);
+
+        private final List<Recipe> recipes = new ArrayList<>(chunkSize);
+        private final List<Long> recipeLines = new ArrayList<>(chunkSize);
+        private final List<Long> recipeSourceIds = new ArrayList<>(chunkSize);
+        private final List<MealPlanDTO> mealPlans = new ArrayList<>(chunkSize);
+        private final List<Long> mealPlanLines = new ArrayList<>(chunkSize);
+
+        // ID in the export -> ID of the imported recipe, needed to resolve the meal plan records
+        private final Map<Long, Long> recipeIds = new HashMap<>();
+
+        Run(String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        void add(long line, JsonNode node) {
+            String type = node.path(TenantExportService.TYPE_FIELD).asText(TenantExportService.RECIPE_TYPE);
+            if (TenantExportService.RECIPE_TYPE.equals(type)) {
+                Recipe recipe = toRecipe(node);
+                recipe.setTenantId(tenantId);
+                recipe.calculateNutritionalValues();
+                recipes.add(recipe);
+                recipeLines.add(line);
+                recipeSourceIds.add(node.path("id").canConvertToLong() ? node.path("id").asLong() : null);
+                if (recipes.size() >= chunkSize) {
+                    saveRecipes();
+                }
+            } else if (TenantExportService.MEAL_PLAN_TYPE.equals(type)) {
+                // Meal plans follow the recipes in an export; the recipes they reference must be saved first
+                saveRecipes();
+                mealPlans.add(toMealPlan(node, recipeIds));
+                mealPlanLines.add(line);
+                if (mealPlans.size() >= chunkSize) {
+                    saveMealPlans();
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown record type: " + type);
+            }
+        }
+
+        /**
+         * Saves the pending recipes in one transaction. If the transaction fails, all records of the chunk are
+         * reported as rejected, the recipes of earlier chunks stay imported.
+         */
+        void saveRecipes() {
+            if (recipes.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    catalogService.resolve(tenantId, recipes);
+                    recipeRepository.saveAll(recipes);
+                });
+                result.addImported(recipes.size());
+                for (int i = 0; i < recipes.size(); i++) {
+                    if (recipeSourceIds.get(i) != null) {
+                        recipeIds.put(recipeSourceIds.get(i), recipes.get(i).getId());
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not save recipes of lines {} to {}: {}", recipeLines.get(0), recipeLines.get(recipeLines.size() - 1), e.getMessage());
+                for (Long line : recipeLines) {
+                    result.addError(line, "Could not be saved");
+                }
+            }
+            recipes.clear();
+            recipeLines.clear();
+            recipeSourceIds.clear();
+        }
+
+        /**
+         * Saves the pending meal plans in one transaction and updates their statistic rollups. Days that already
+         * have a meal plan are rejected, like in {@link MealPlanService#saveMealPlan}.
+         */
+        void saveMealPlans() {
+            if (mealPlans.isEmpty()) {
+                return;
+            }
+            Map<Long, String> rejected = new LinkedHashMap<>();
+            try {
+                int saved = transactionTemplate.execute(status -> {
+                    LocalDate first = LocalDate.MAX;
+                    LocalDate last = LocalDate.MIN;
+                    for (MealPlanDTO mealPlan : mealPlans) {
+                        LocalDate date = LocalDate.parse(mealPlan.getDate());
+                        first = date.isBefore(first) ? date : first;
+                        last = date.isAfter(last) ? date : last;
+                    }
+                    Set<LocalDate> usedDates = new HashSet<>(mealPlanRepository.findDatesByTenantIdAndDateBetween(tenantId, first, last));
+
+                    List<MealPlan> newMealPlans = new ArrayList<>(mealPlans.size());
+                    for (int i = 0; i < mealPlans.size(); i++) {
+                        MealPlanDTO mealPlan = mealPlans.get(i);
+                        LocalDate date = LocalDate.parse(mealPlan.getDate());
+                        if (!usedDates.add(date)) {
+                            rejected.put(mealPlanLines.get(i), "A meal plan already exists for the date " + date);
+                            continue;
+                        }
+                        newMealPlans.add(new MealPlan(tenantId, date,
+                                reference(mealPlan.getBreakfastRecipeId()), mealPlan.getBreakfastPortionSize(),
+                                reference(mealPlan.getLunchRecipeId()), mealPlan.getLunchPortionSize(),
+                                reference(mealPlan.getDinnerRecipeId()), mealPlan.getDinnerPortionSize()));
+                    }
+                    mealPlanRepository.saveAll(newMealPlans);
+                    newMealPlans.forEach(rollupService::refresh);
+                    newMealPlans.forEach(demandService::refresh);
+                    return newMealPlans.size();
+                });
+                result.addImportedMealPlans(saved);
+                rejected.forEach(result::addError);
+            } catch (RuntimeException e) {
+                logger.warn("Could not save meal plans of lines {} to {}: {}", mealPlanLines.get(0), mealPlanLines.get(mealPlanLines.size() - 1), e.getMessage());
+                for (Long line : mealPlanLines) {
+                    result.addError(line, "Could not be saved");
+                }
+            }
+            mealPlans.clear();
+            mealPlanLines.clear();
+        }
+
+        private Recipe reference(Long recipeId) {
+            return recipeId == null ? null : recipeRepository.getReferenceById(recipeId);
+        }
+    }
+}
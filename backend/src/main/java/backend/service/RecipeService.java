@@ -2,22 +2,34 @@ package backend.service;
 
 import backend.model.Recipe.Ingredient;
 import backend.model.Recipe.Recipe;
+import backend.model.Recipe.RecipeCursor;
+import backend.model.Recipe.RecipePage;
+import backend.model.Recipe.RecipePatch;
+import backend.model.Recipe.RecipeSummary;
 import backend.model.Recipe.Tag;
 import backend.repository.IngredientRepository;
+import backend.repository.MealPlanRepository;
 import backend.repository.RecipeRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Service class to manage recipes.
@@ -29,6 +41,10 @@ public class RecipeService {
     private static final Logger logger = LoggerFactory.getLogger(RecipeService.class);
     private final RecipeRepository recipeRepository;
     private final IngredientRepository ingredientRepository;
+    private final MealPlanRepository mealPlanRepository;
+    private final CookingStatisticRollupService rollupService;
+    private final DailyIngredientDemandService demandService;
+    private final IngredientCatalogService catalogService;
     @PersistenceContext
     private EntityManager em;
 
@@ -37,10 +53,20 @@ public class RecipeService {
      *
      * @param recipeRepository   The repository for managing Recipe entities.
      * @param ingredientRepository The repository for managing Ingredient entities.
+     * @param mealPlanRepository The repository for managing MealPlan entities.
+     * @param rollupService The service keeping the daily statistic rollups up to date.
+     * @param demandService The service keeping the daily ingredient demand up to date.
+     * @param catalogService The service linking ingredients to the ingredient catalogue.
      */
-    public RecipeService(RecipeRepository recipeRepository, final IngredientRepository ingredientRepository) {
+    public RecipeService(RecipeRepository recipeRepository, final IngredientRepository ingredientRepository,
+                         final MealPlanRepository mealPlanRepository, final CookingStatisticRollupService rollupService,
+                         final DailyIngredientDemandService demandService, final IngredientCatalogService catalogService) {
         this.recipeRepository = recipeRepository;
         this.ingredientRepository = ingredientRepository;
+        this.mealPlanRepository = mealPlanRepository;
+        this.rollupService = rollupService;
+        this.demandService = demandService;
+        this.catalogService = catalogService;
     }
 
     /**
@@ -53,11 +79,26 @@ public class RecipeService {
         return recipeRepository.findByTenantId(tenantId);
     }
 
+    /**
+     * Sets the tag mask of recipes that were saved before the mask column existed. With ddl-auto=update the column
+     * is added with 0 for the existing rows, so these recipes would not match any tag search.
+     *
+     * @return The number of recipes whose mask was set.
+     */
+    @Transactional
+    public int backfillTagMasks() {
+        List<Recipe> recipes = recipeRepository.findWithMissingTagMask();
+        for (Recipe recipe : recipes) {
+            recipe.setTags(recipe.getTags()); // Recomputes the mask, written by dirty checking
+        }
+        return recipes.size();
+    }
+
     /**
      * Searches for recipes based on various criteria such as name, tags, cooking time, and favorite status.
      *
      * @param tenantId        The ID of the tenant.
-     * @param name            The name of the recipe (partial match).
+     * @param name            The name of the recipe (prefix match, ignoring case).
      * @param tags            The tags associated with the recipe.
      * @param maxCookingTime  The maximum cooking time for the recipe.
      * @param favorite        The favorite status of the recipe.
@@ -66,32 +107,78 @@ public class RecipeService {
     public List<Recipe> searchRecipes(String tenantId, String name, List<Tag> tags, Integer maxCookingTime, Boolean favorite) {
         logger.info("Searching recipes for tenantId: {}, name: {}, tags: {}, max cooking time: {}, favorite: {}", tenantId, name, tags, maxCookingTime, favorite);
 
-        List<Recipe> recipes = new ArrayList<>();
+        return recipeRepository.search(tenantId, namePrefix(name), Tag.toMask(tags), maxCookingTime,
+                Boolean.TRUE.equals(favorite), null, null, Limit.unlimited());
+    }
 
-        if (name != null && tags != null && !tags.isEmpty()) {
-            recipes = recipeRepository.findByTenantIdAndNameStartingWithIgnoreCaseAndTagsIn(tenantId, name, tags);
-            recipes = recipes.stream().filter(recipe -> recipe.getTags().containsAll(tags)).collect(Collectors.toList());
-        } else if (name != null) {
-            recipes = recipeRepository.findByTenantIdAndNameStartingWithIgnoreCase(tenantId, name);
-        }
+    /**
+     * Searches for recipe summaries with the same filters as {@link #searchRecipes}.
+     * Only the summary columns are selected; descriptions, ingredients and tags are not loaded.
+     *
+     * @param tenantId        The ID of the tenant.
+     * @param name            The name of the recipe (prefix match, ignoring case).
+     * @param tags            The tags associated with the recipe.
+     * @param maxCookingTime  The maximum cooking time for the recipe.
+     * @param favorite        The favorite status of the recipe.
+     * @return A list of recipe summaries matching the search criteria.
+     */
+    public List<RecipeSummary> searchRecipeSummaries(String tenantId, String name, List<Tag> tags, Integer maxCookingTime, Boolean favorite) {
+        return recipeRepository.searchSummaries(tenantId, namePrefix(name), Tag.toMask(tags), maxCookingTime,
+                Boolean.TRUE.equals(favorite), null, null, Limit.unlimited());
+    }
 
-        else if (tags != null && !tags.isEmpty()) {
-            recipes = recipeRepository.findByTenantIdAndTagsIn(tenantId, tags);
-            recipes = recipes.stream().filter(recipe -> recipe.getTags().containsAll(tags)).collect(Collectors.toList());
-        } else {
-            recipes = recipeRepository.findByTenantId(tenantId);
-        }
+    /**
+     * Searches for recipe summaries like {@link #searchRecipeSummaries} but returns a bounded page.
+     * The recipes are sorted by name and ID; the next page starts after the cursor of the previous one.
+     *
+     * @param tenantId        The ID of the tenant.
+     * @param name            The name of the recipe (prefix match, ignoring case).
+     * @param tags            The tags associated with the recipe.
+     * @param maxCookingTime  The maximum cooking time for the recipe.
+     * @param favorite        The favorite status of the recipe.
+     * @param cursor          The cursor returned with the previous page, or null for the first page.
+     * @param size            The maximum number of recipes on the page.
+     * @return The page of recipe summaries and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public RecipePage searchRecipePage(String tenantId, String name, List<Tag> tags, Integer maxCookingTime,
+                                       Boolean favorite, String cursor, int size) {
+        RecipeCursor after = cursor == null || cursor.isBlank() ? null : RecipeCursor.decode(cursor);
 
-        if (maxCookingTime != null) {
-            recipes = recipes.stream().filter(recipe -> recipe.getCookingTime() != null && recipe.getCookingTime() <= maxCookingTime).toList();
-        }
+        // Fetch one extra row to find out whether there is a next page
+        List<RecipeSummary> recipes = recipeRepository.searchSummaries(tenantId, namePrefix(name), Tag.toMask(tags), maxCookingTime,
+                Boolean.TRUE.equals(favorite),
+                after == null ? null : after.getName(),
+                after == null ? null : after.getId(),
+                Limit.of(size + 1));
 
-        // Filter by favorite status
-        if (favorite != null && favorite) {
-            recipes = recipes.stream().filter(Recipe::isFavorite).collect(Collectors.toList());
+        if (recipes.size() <= size) {
+            return new RecipePage(recipes, null);
         }
+        List<RecipeSummary> page = recipes.subList(0, size);
+        RecipeSummary last = page.get(size - 1);
+        return new RecipePage(page, new RecipeCursor(last.getName(), last.getId()).encode());
+    }
+
+    /**
+     * Retrieves the full recipe including description, ingredients and tags.
+     *
+     * @param tenantId The ID of the tenant.
+     * @param recipeId The ID of the recipe.
+     * @return The recipe.
+     * @throws EntityNotFoundException if the recipe does not exist for the tenant.
+     */
+    public Recipe getRecipe(String tenantId, Long recipeId) {
+        return recipeRepository.findByTenantIdAndId(tenantId, recipeId)
+                .orElseThrow(() -> new EntityNotFoundException("Recipe not found"));
+    }
 
-        return recipes;
+    // The name is matched with LIKE, so its wildcards and the escape character are searched literally
+    private static String namePrefix(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return name.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     /**
@@ -101,15 +188,18 @@ public class RecipeService {
      * @param recipe   The recipe to be saved.
      * @return The saved recipe.
      */
+    @Transactional
     public Recipe saveRecipe(String tenantId, Recipe recipe) {
         logger.info("Saving recipe for tenantId: {}", tenantId);
         recipe.setTenantId(tenantId);  // Set the tenantId
         recipe.calculateNutritionalValues();
+        catalogService.resolve(tenantId, List.of(recipe));
         return recipeRepository.save(recipe);
     }
 
     /**
      * Updates an existing recipe for the specified tenant.
+     * The ingredients are matched by their ID, so only changed, added and removed ingredients are written.
      *
      * @param tenantId     The ID of the tenant.
      * @param recipeId     The ID of the recipe to be updated.
@@ -122,30 +212,120 @@ public class RecipeService {
         Recipe existingRecipe = recipeRepository.findByTenantIdAndId(tenantId, recipeId)
                 .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + recipeId));
 
-        // 2. Update the recipe data
+        // 2. Update the recipe data; name, cooking time and tags are part of the statistics
+        boolean statisticsChanged = !Objects.equals(existingRecipe.getName(), updatedRecipe.getName())
+                || !Objects.equals(existingRecipe.getCookingTime(), updatedRecipe.getCookingTime());
         existingRecipe.setName(updatedRecipe.getName());
         existingRecipe.setDescription(updatedRecipe.getDescription());
         existingRecipe.setCookingTime(updatedRecipe.getCookingTime());
-        existingRecipe.setTags(updatedRecipe.getTags());
+        statisticsChanged |= existingRecipe.updateTags(updatedRecipe.getTags());
         existingRecipe.setFavorite(updatedRecipe.isFavorite());
 
-        // 3. Update the ingredients
-        List<Ingredient> updatedIngredients = updatedRecipe.getIngredients();
+        // 3. Update, add and remove the ingredients
+        List<Ingredient> updatedIngredients = updatedRecipe.getIngredients() != null ? updatedRecipe.getIngredients() : List.of();
+        boolean ingredientsChanged = mergeIngredients(tenantId, existingRecipe, updatedIngredients);
+
+        return saveChanges(tenantId, existingRecipe, statisticsChanged, ingredientsChanged);
+    }
+
+    /**
+     * Partially updates an existing recipe. Fields that are not given stay unchanged; the nutritional values are
+     * only recalculated and the statistics only refreshed if the changed fields affect them.
+     *
+     * @param tenantId The ID of the tenant.
+     * @param recipeId The ID of the recipe to be updated.
+     * @param patch    The fields to change.
+     * @return The updated recipe.
+     * @throws EntityNotFoundException if the recipe does not exist for the tenant.
+     */
+    @Transactional
+    public Recipe patchRecipe(String tenantId, Long recipeId, RecipePatch patch) {
+        Recipe existingRecipe = recipeRepository.findByTenantIdAndId(tenantId, recipeId)
+                .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + recipeId));
+
+        boolean statisticsChanged = false;
+        if (patch.getName() != null && !patch.getName().equals(existingRecipe.getName())) {
+            existingRecipe.setName(patch.getName());
+            statisticsChanged = true;
+        }
+        if (patch.getCookingTime() != null && !patch.getCookingTime().equals(existingRecipe.getCookingTime())) {
+            existingRecipe.setCookingTime(patch.getCookingTime());
+            statisticsChanged = true;
+        }
+        if (patch.getTags() != null) {
+            statisticsChanged |= existingRecipe.updateTags(patch.getTags());
+        }
+        if (patch.getDescription() != null) {
+            existingRecipe.setDescription(patch.getDescription());
+        }
+        if (patch.getFavorite() != null) {
+            existingRecipe.setFavorite(patch.getFavorite());
+        }
+        boolean ingredientsChanged = patch.getIngredients() != null
+                && mergeIngredients(tenantId, existingRecipe, patch.getIngredients());
+
+        return saveChanges(tenantId, existingRecipe, statisticsChanged, ingredientsChanged);
+    }
 
-        // 4. Ensure all ingredients have the correct recipe reference
-        for (Ingredient updatedIngredient : updatedIngredients) {
-            if (updatedIngredient.getRecipe() == null) {
-                updatedIngredient.setRecipe(existingRecipe);  // Set the recipe reference
+    /**
+     * Applies the incoming ingredients to the recipe. Ingredients with the ID of an ingredient of this recipe update
+     * it in place, all others are added as new ingredients, and ingredients that are no longer given are removed.
+     *
+     * @return true if any ingredient was added, removed or changed.
+     */
+    private boolean mergeIngredients(String tenantId, Recipe recipe, List<Ingredient> incoming) {
+        Map<Long, Ingredient> existingById = new HashMap<>();
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            existingById.put(ingredient.getId(), ingredient);
+        }
+
+        boolean changed = false;
+        Set<Long> keptIds = new HashSet<>();
+        List<Ingredient> added = new ArrayList<>();
+        List<Ingredient> renamed = new ArrayList<>();
+        for (Ingredient ingredient : incoming) {
+            Ingredient existing = ingredient.getId() != null ? existingById.get(ingredient.getId()) : null;
+            if (existing != null && keptIds.add(existing.getId())) {
+                String previousName = existing.getName();
+                if (existing.copyValuesFrom(ingredient)) {
+                    changed = true;
+                    if (!Objects.equals(previousName, existing.getName())) {
+                        renamed.add(existing);
+                    }
+                }
+            } else {
+                // IDs of other recipes' ingredients are not taken over
+                ingredient.setId(null);
+                ingredient.setRecipe(recipe);
+                added.add(ingredient);
             }
         }
 
-        // 5. Remove ingredients no longer present in the updated recipe
-        existingRecipe.getIngredients().clear();
-        existingRecipe.getIngredients().addAll(updatedIngredients);
+        // orphanRemoval deletes the rows of the removed ingredients
+        changed |= recipe.getIngredients().removeIf(ingredient -> !keptIds.contains(ingredient.getId()));
+        if (!added.isEmpty()) {
+            recipe.getIngredients().addAll(added);
+            renamed.addAll(added);
+            changed = true;
+        }
+        catalogService.resolveIngredients(tenantId, renamed);
+        return changed;
+    }
 
-        // 6. Save the updated recipe
-        existingRecipe.calculateNutritionalValues();
-        return recipeRepository.save(existingRecipe);
+    private Recipe saveChanges(String tenantId, Recipe recipe, boolean statisticsChanged, boolean ingredientsChanged) {
+        if (ingredientsChanged) {
+            recipe.calculateNutritionalValues();
+        }
+        Recipe savedRecipe = recipeRepository.save(recipe);
+
+        // Update the statistic rollups and ingredient demand of all days using this recipe
+        if (statisticsChanged || ingredientsChanged) {
+            rollupService.refreshRecipe(tenantId, recipe.getId());
+        }
+        if (ingredientsChanged) {
+            demandService.refreshRecipe(tenantId, recipe.getId());
+        }
+        return savedRecipe;
     }
 
     /**
@@ -160,6 +340,9 @@ public class RecipeService {
         logger.info("Deleting recipe with ID: {} for tenantId: {}", id, tenantId);
         Optional<Recipe> recipe = recipeRepository.findByTenantIdAndId(tenantId, id);
         if (recipe.isPresent()) {
+            // Remember the days using the recipe, their statistic rollups and ingredient demand change with the deletion
+            List<LocalDate> affectedDates = mealPlanRepository.findDatesByTenantIdAndRecipeId(tenantId, id);
+
             // Remove references to the recipe in MealPlans
             Query updateMealPlanQuery = em.createQuery("UPDATE MealPlan mp SET mp.breakfastRecipe = NULL WHERE mp.breakfastRecipe.id = :recipeId AND mp.tenantId = :tenantId");
             updateMealPlanQuery.setParameter("recipeId", id);
@@ -182,6 +365,9 @@ public class RecipeService {
             // Delete the recipe
             recipeRepository.delete(recipe.get());
             logger.info("Recipe deleted");
+
+            rollupService.refreshDays(tenantId, affectedDates);
+            demandService.refreshDays(tenantId, affectedDates);
             return true;
         }
         logger.warn("Recipe with ID {} not found", id);
@@ -211,22 +397,55 @@ public class RecipeService {
 
         // Save the recipe after the ingredient has been removed
         recipeRepository.save(recipe);
+        rollupService.refreshRecipe(tenantId, recipeId);
+        demandService.refreshRecipe(tenantId, recipeId);
     }
 
     /**
-     * Toggles the favorite status of a recipe.
+     * Toggles the favorite status of a recipe with a single update statement, without loading the recipe.
      *
      * @param tenantId The ID of the tenant.
      * @param id       The ID of the recipe.
-     * @return The updated recipe.
+     * @throws EntityNotFoundException if the recipe does not exist for the tenant.
      */
-    public Recipe toggleFavorite(String tenantId, Long id) {
-        Recipe recipe = recipeRepository.findByTenantIdAndId(tenantId, id)
-                .orElseThrow(() -> new EntityNotFoundException("Recipe not found"));
+    @Transactional
+    public void toggleFavorite(String tenantId, Long id) {
+        if (recipeRepository.toggleFavorite(tenantId, id) == 0) {
+            throw new EntityNotFoundException("Recipe not found");
+        }
+    }
 
-        // Toggle the favorite status
-        recipe.setFavorite(!recipe.isFavorite());
-        recipe.calculateNutritionalValues();
-        return recipeRepository.save(recipe);
+    /**
+     * Sets the favorite status of a recipe. The row is only written if the status differs, so repeated
+     * requests with the same value cost one conditional update and no write.
+     *
+     * @param tenantId The ID of the tenant.
+     * @param id       The ID of the recipe.
+     * @param favorite The new favorite status.
+     * @throws EntityNotFoundException if the recipe does not exist for the tenant.
+     */
+    @Transactional
+    public void setFavorite(String tenantId, Long id, boolean favorite) {
+        if (recipeRepository.updateFavorite(tenantId, List.of(id), favorite) == 0
+                && !recipeRepository.existsByTenantIdAndId(tenantId, id)) {
+            throw new EntityNotFoundException("Recipe not found");
+        }
+    }
+
+    /**
+     * Sets the favorite status of many recipes in one update statement.
+     * IDs of recipes of other tenants or of recipes that do not exist are ignored.
+     *
+     * @param tenantId The ID of the tenant.
+     * @param ids      The IDs of the recipes.
+     * @param favorite The new favorite status.
+     * @return The number of recipes whose favorite status changed.
+     */
+    @Transactional
+    public int setFavorites(String tenantId, Collection<Long> ids, boolean favorite) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return recipeRepository.updateFavorite(tenantId, ids, favorite);
     }
 }
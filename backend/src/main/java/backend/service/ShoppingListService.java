@@ -0,0 +1,235 @@
+package backend.service;
+
+import backend.model.Pantry.PantryItem;
+import backend.model.ShoppingList.IngredientDemand;
+import backend.model.ShoppingList.ShoppingItem;
+import backend.model.ShoppingList.ShoppingList;
+import backend.model.ShoppingList.ShoppingListSync;
+import backend.model.ShoppingList.StoredShoppingItem;
+import backend.model.ShoppingList.StoredShoppingList;
+import backend.repository.DailyIngredientDemandRepository;
+import backend.repository.PantryItemRepository;
+import backend.repository.StoredShoppingItemRepository;
+import backend.repository.StoredShoppingListRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service class to generate shopping lists.
+ * The ingredient quantities are summed from the daily ingredient demand of the requested date range,
+ * which is kept up to date when meal plans and recipes change (see {@link DailyIngredientDemandService}),
+ * minus the stock in the pantry of the tenant.
+ */
+@Service
+public class ShoppingListService {
+
+    private final DailyIngredientDemandRepository demandRepository;
+    private final StoredShoppingListRepository storedListRepository;
+    private final StoredShoppingItemRepository storedItemRepository;
+    private final PantryItemRepository pantryRepository;
+    private final TransactionTemplate newTransaction;
+
+    // Constructor to inject the DailyIngredientDemandRepository, the shopping list and pantry repositories and the PlatformTransactionManager
+    public ShoppingListService(DailyIngredientDemandRepository demandRepository,
+                               StoredShoppingListRepository storedListRepository,
+                               StoredShoppingItemRepository storedItemRepository,
+                               PantryItemRepository pantryRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.demandRepository = demandRepository;
+        this.storedListRepository = storedListRepository;
+        this.storedItemRepository = storedItemRepository;
+        this.pantryRepository = pantryRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Generates the shopping list items for a tenant and a date range, minus the pantry stock.
+     *
+     * @param tenantId  the tenant's ID
+     * @param startDate the start date of the range (inclusive)
+     * @param endDate   the end date of the range (inclusive)
+     * @return the combined shopping items for the range
+     */
+    @Transactional(readOnly = true)
+    public List<ShoppingItem> generateShoppingList(String tenantId, LocalDate startDate, LocalDate endDate) {
+        return generateShoppingList(tenantId, startDate, endDate, true);
+    }
+
+    /**
+     * Generates the shopping list items for a tenant and a date range.
+     *
+     * @param tenantId       the tenant's ID
+     * @param startDate      the start date of the range (inclusive)
+     * @param endDate        the end date of the range (inclusive)
+     * @param subtractPantry whether the pantry stock is subtracted from the demand
+     * @return the combined shopping items for the range
+     */
+    @Transactional(readOnly = true)
+    public List<ShoppingItem> generateShoppingList(String tenantId, LocalDate startDate, LocalDate endDate, boolean subtractPantry) {
+        List<IngredientDemand> demands = demandRepository.sumByTenantIdAndDateBetween(tenantId, startDate, endDate);
+
+        // Only the stock of ingredients needed in the range is loaded
+        List<PantryItem> pantry = List.of();
+        if (subtractPantry && !demands.isEmpty()) {
+            Set<Long> ingredientIds = new HashSet<>();
+            for (IngredientDemand demand : demands) {
+                ingredientIds.add(demand.getIngredientId());
+            }
+            pantry = pantryRepository.findByTenantIdAndCatalogEntryIdIn(tenantId, ingredientIds);
+        }
+
+        ShoppingList shoppingList = new ShoppingList(startDate, endDate);
+        shoppingList.generateShoppingListFromDemand(demands, pantry);
+        return shoppingList.getItems();
+    }
+
+    /**
+     * Creates the stored shopping list of a date range or brings it up to date with the current meal plans.
+     * Items whose total is unchanged keep their checked state and version; changed, new and removed items get
+     * the next version of the list. Removed items stay as deleted tombstones for delta requests.
+     *
+     * @param tenantId  the tenant's ID
+     * @param startDate the start date of the range (inclusive)
+     * @param endDate   the end date of the range (inclusive)
+     * @return the list with all items that are not deleted
+     * @throws IllegalArgumentException if the end date is before the start date
+     */
+    @Transactional
+    public ShoppingListSync saveShoppingList(String tenantId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("The end date must not be before the start date.");
+        }
+        StoredShoppingList shoppingList = lockShoppingList(tenantId, startDate, endDate);
+
+        Map<Long, StoredShoppingItem> storedItems = new HashMap<>();
+        for (StoredShoppingItem storedItem : storedItemRepository.findByShoppingListId(shoppingList.getId())) {
+            storedItems.put(storedItem.getIngredientId(), storedItem);
+        }
+
+        List<StoredShoppingItem> currentItems = new ArrayList<>();
+        List<StoredShoppingItem> newItems = new ArrayList<>();
+        List<StoredShoppingItem> changedItems = new ArrayList<>();
+        for (ShoppingItem item : generateShoppingList(tenantId, startDate, endDate)) {
+            StoredShoppingItem storedItem = storedItems.remove(item.getIngredientId());
+            if (storedItem == null) {
+                storedItem = new StoredShoppingItem(shoppingList, item.getIngredientId());
+                newItems.add(storedItem);
+            }
+            if (storedItem.update(item)) {
+                changedItems.add(storedItem);
+            }
+            currentItems.add(storedItem);
+        }
+
+        // Ingredients that are no longer needed
+        for (StoredShoppingItem storedItem : storedItems.values()) {
+            if (!storedItem.isDeleted()) {
+                storedItem.setDeleted(true);
+                storedItem.setChecked(false);
+                changedItems.add(storedItem);
+            }
+        }
+
+        if (!changedItems.isEmpty()) {
+            long version = shoppingList.nextVersion();
+            changedItems.forEach(storedItem -> storedItem.setVersion(version));
+        }
+        storedItemRepository.saveAll(newItems);
+
+        currentItems.sort(Comparator.comparing(StoredShoppingItem::getIngredientName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return new ShoppingListSync(shoppingList, false, currentItems);
+    }
+
+    /**
+     * Locks the stored list of a date range and creates it first if it does not exist yet. The list is created in its
+     * own transaction, so of two concurrent requests for a new range one inserts the row, the other one fails on the
+     * unique key, and both continue with the locked row.
+     */
+    private StoredShoppingList lockShoppingList(String tenantId, LocalDate startDate, LocalDate endDate) {
+        // Checked without a lock: a locking read of a missing row could block the insert below (gap lock)
+        if (!storedListRepository.existsByTenantIdAndStartDateAndEndDate(tenantId, startDate, endDate)) {
+            try {
+                newTransaction.executeWithoutResult(status ->
+                        storedListRepository.saveAndFlush(new StoredShoppingList(tenantId, startDate, endDate)));
+            } catch (DataIntegrityViolationException e) {
+                // Created by a concurrent request, locked below
+            }
+        }
+        return storedListRepository.findForUpdateByTenantIdAndStartDateAndEndDate(tenantId, startDate, endDate)
+                .orElseThrow(() -> new IllegalStateException("Shopping list was not created"));
+    }
+
+    /**
+     * Returns a stored shopping list. With a known version only the items changed after that version are returned,
+     * including deleted ones, so clients can apply the changes to their copy.
+     *
+     * @param tenantId the tenant's ID
+     * @param id       the ID of the stored list
+     * @param since    the version the client knows, or null for all items
+     * @return the list and its (changed) items
+     * @throws EntityNotFoundException if the list does not exist for the tenant
+     */
+    @Transactional(readOnly = true)
+    public ShoppingListSync getShoppingList(String tenantId, Long id, Long since) {
+        StoredShoppingList shoppingList = storedListRepository.findByTenantIdAndId(tenantId, id)
+                .orElseThrow(() -> new EntityNotFoundException("Shopping list not found"));
+
+        // A version the list never had (e.g. of a deleted and recreated list) is answered with the full list
+        if (since == null || since < 0 || since > shoppingList.getVersion()) {
+            List<StoredShoppingItem> items = new ArrayList<>();
+            for (StoredShoppingItem storedItem : storedItemRepository.findByShoppingListId(id)) {
+                if (!storedItem.isDeleted()) {
+                    items.add(storedItem);
+                }
+            }
+            items.sort(Comparator.comparing(StoredShoppingItem::getIngredientName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+            return new ShoppingListSync(shoppingList, false, items);
+        }
+        if (since == shoppingList.getVersion()) {
+            return new ShoppingListSync(shoppingList, true, List.of());
+        }
+        return new ShoppingListSync(shoppingList, true,
+                storedItemRepository.findByShoppingListIdAndVersionGreaterThanOrderByVersionAsc(id, since));
+    }
+
+    /**
+     * Checks or unchecks an item of a stored shopping list.
+     *
+     * @param tenantId the tenant's ID
+     * @param listId   the ID of the stored list
+     * @param itemId   the ID of the item
+     * @param checked  whether the item was bought
+     * @return the list version and the item
+     * @throws EntityNotFoundException if the list or the item does not exist
+     */
+    @Transactional
+    public ShoppingListSync setChecked(String tenantId, Long listId, Long itemId, boolean checked) {
+        StoredShoppingList shoppingList = storedListRepository.findForUpdateByTenantIdAndId(tenantId, listId)
+                .orElseThrow(() -> new EntityNotFoundException("Shopping list not found"));
+        StoredShoppingItem storedItem = storedItemRepository.findByShoppingListIdAndId(listId, itemId)
+                .filter(item -> !item.isDeleted())
+                .orElseThrow(() -> new EntityNotFoundException("Shopping list item not found"));
+
+        // Repeated requests with the same state do not create a new version
+        if (storedItem.isChecked() != checked) {
+            storedItem.setChecked(checked);
+            storedItem.setVersion(shoppingList.nextVersion());
+        }
+        return new ShoppingListSync(shoppingList, true, List.of(storedItem));
+    }
+}
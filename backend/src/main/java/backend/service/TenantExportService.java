@@ -0,0 +1,136 @@
+package backend.service;
+
+import backend.model.MealPlan.MealPlanDTO;
+import backend.model.Recipe.Recipe;
+import backend.repository.MealPlanRepository;
+import backend.repository.RecipeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes all recipes and meal plans of a tenant as gzip-compressed NDJSON, one record per line.
+ * <p>
+ * Recipe records have the format of {@code POST /api/recipes} plus {@code "type": "recipe"}; meal plan records
+ * have {@code "type": "mealPlan"} and reference the recipes by the {@code id} of their recipe record. The export
+ * can be imported again with {@link RecipeImportService}, which maps the recipe IDs to the newly created recipes.
+ * Only one page of recipes is held in memory at a time, so the heap use does not depend on the size of the tenant.
+ * </p>
+ */
+@Service
+public class TenantExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantExportService.class);
+
+    static final String TYPE_FIELD = "type";
+    static final String RECIPE_TYPE = "recipe";
+    static final String MEAL_PLAN_TYPE = "mealPlan";
+
+    private final RecipeRepository recipeRepository;
+    private final MealPlanRepository mealPlanRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    @PersistenceContext
+    private EntityManager em;
+
+    // Constructor to inject the repositories, the transaction template and the export page size
+    public TenantExportService(RecipeRepository recipeRepository, MealPlanRepository mealPlanRepository,
+                               TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                               @Value("${tenant.export.page-size:100}") int pageSize) {
+        this.recipeRepository = recipeRepository;
+        this.mealPlanRepository = mealPlanRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Writes the export of a tenant to the stream and closes it.
+     *
+     * @param tenantId The ID of the tenant.
+     * @param output   The stream receiving the gzip-compressed NDJSON.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void export(String tenantId, OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .withRootValueSeparator("\n")
+                .writeValues(new GZIPOutputStream(output, 64 * 1024))) {
+            long[] counts = readOnlyTransaction.execute(status -> {
+                try {
+                    return new long[]{writeRecipes(tenantId, writer), writeMealPlans(tenantId, writer)};
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            logger.info("Exported {} recipes and {} meal plans for tenantId: {} in {} ms",
+                    counts[0], counts[1], tenantId, System.currentTimeMillis() - start);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes the recipes page by page, ordered by ID. The tags and ingredients of a page are loaded in batches,
+     * and the page is removed from the persistence context once it is written.
+     */
+    private long writeRecipes(String tenantId, SequenceWriter writer) throws IOException {
+        long count = 0;
+        long afterId = 0;
+        List<Recipe> page;
+        do {
+            page = recipeRepository.findByTenantIdAndIdGreaterThanOrderByIdAsc(tenantId, afterId, Limit.of(pageSize));
+            for (Recipe recipe : page) {
+                ObjectNode record = objectMapper.createObjectNode().put(TYPE_FIELD, RECIPE_TYPE);
+                record.setAll((ObjectNode) objectMapper.valueToTree(recipe));
+                writer.write(record);
+                count++;
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+            em.clear();
+        } while (page.size() == pageSize);
+        return count;
+    }
+
+    // Meal plans are read from a cursor as plain rows, no entities are attached to the persistence context
+    private long writeMealPlans(String tenantId, SequenceWriter writer) throws IOException {
+        long count = 0;
+        try (Stream<MealPlanDTO> mealPlans = mealPlanRepository.streamExportByTenantId(tenantId)) {
+            for (MealPlanDTO mealPlan : (Iterable<MealPlanDTO>) mealPlans::iterator) {
+                ObjectNode record = objectMapper.createObjectNode()
+                        .put(TYPE_FIELD, MEAL_PLAN_TYPE)
+                        .put("date", mealPlan.getDate())
+                        .put("breakfastRecipeId", mealPlan.getBreakfastRecipeId())
+                        .put("breakfastPortionSize", mealPlan.getBreakfastPortionSize())
+                        .put("lunchRecipeId", mealPlan.getLunchRecipeId())
+                        .put("lunchPortionSize", mealPlan.getLunchPortionSize())
+                        .put("dinnerRecipeId", mealPlan.getDinnerRecipeId())
+                        .put("dinnerPortionSize", mealPlan.getDinnerPortionSize());
+                writer.write(record);
+                count++;
+            }
+        }
+        return count;
+    }
+}
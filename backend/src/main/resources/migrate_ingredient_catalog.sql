@@ -0,0 +1,103 @@
+-- Migration to the ingredient catalogue for databases that are kept between starts (spring.jpa.hibernate.ddl-auto=update).
+-- Creates one catalogue entry per tenant and normalized ingredient name (trimmed, lower case, single spaces) and links
+-- every recipe ingredient to it. The unit and nutritional values of an entry are taken from the oldest ingredient with
+-- that name; afterwards the ingredients only keep the values that differ from their entry. Ingredients with a blank or
+-- missing name share the entry 'Unbenannte Zutat' with the empty normalized name, like in IngredientCatalogEntry.
+-- Ingredients without a unit take the unit of their entry.
+-- Run it before starting the new version, then start the application once with --rebuild-statistic-rollups,
+-- because the rollups now count ingredients by catalogue entry ID instead of by name.
+-- It also starts the pooled ID generators of all tables with existing rows above their highest ID.
+-- The tag mask of recipes stored before it existed is filled on startup (see TagMaskBackfillRunner).
+
+USE shoppingPlanner;
+
+CREATE TABLE IF NOT EXISTS ingredient_catalog_entry (
+    id BIGINT NOT NULL PRIMARY KEY,
+    tenant_id VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    normalized_name VARCHAR(255) NOT NULL,
+    unit VARCHAR(255),
+    calories DOUBLE,
+    proteins DOUBLE,
+    fats DOUBLE,
+    carbohydrates DOUBLE,
+    CONSTRAINT uk_ingredient_catalog_entry_tenant_name UNIQUE (tenant_id, normalized_name)
+);
+
+INSERT INTO ingredient_catalog_entry (id, tenant_id, name, normalized_name, unit, calories, proteins, fats, carbohydrates)
+SELECT COALESCE((SELECT MAX(id) FROM ingredient_catalog_entry), 0)
+           + ROW_NUMBER() OVER (ORDER BY oldest.tenant_id, oldest.normalized_name),
+       oldest.tenant_id,
+       CASE WHEN oldest.normalized_name = '' THEN 'Unbenannte Zutat' ELSE TRIM(oldest.name) END,
+       oldest.normalized_name, oldest.unit,
+       oldest.calories, oldest.proteins, oldest.fats, oldest.carbohydrates
+FROM (
+    SELECT r.tenant_id, i.name, i.unit, i.calories, i.proteins, i.fats, i.carbohydrates,
+           COALESCE(LOWER(REGEXP_REPLACE(TRIM(i.name), '[[:space:]]+', ' ')), '') AS normalized_name,
+           ROW_NUMBER() OVER (PARTITION BY r.tenant_id, COALESCE(LOWER(REGEXP_REPLACE(TRIM(i.name), '[[:space:]]+', ' ')), '')
+                              ORDER BY i.id) AS position
+    FROM ingredient i
+    JOIN recipe r ON r.id = i.recipe_id
+) oldest
+LEFT JOIN ingredient_catalog_entry existing
+       ON existing.tenant_id = oldest.tenant_id AND existing.normalized_name = oldest.normalized_name
+WHERE oldest.position = 1
+AND existing.id IS NULL;
+
+-- Tables of the pooled ID generators (allocationSize 50); each starts well above the highest ID of its table.
+-- Recipes, ingredients, meal plans, users and cooking statistics had AUTO_INCREMENT IDs before, so a generator
+-- created by Hibernate would start at 1 and collide with the existing rows. The tables added in this version are
+-- still empty; Hibernate creates them together with their generator tables on startup.
+CREATE TABLE IF NOT EXISTS ingredient_catalog_entry_seq (next_val BIGINT);
+DELETE FROM ingredient_catalog_entry_seq;
+INSERT INTO ingredient_catalog_entry_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM ingredient_catalog_entry;
+
+CREATE TABLE IF NOT EXISTS recipe_seq (next_val BIGINT);
+DELETE FROM recipe_seq;
+INSERT INTO recipe_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM recipe;
+
+CREATE TABLE IF NOT EXISTS ingredient_seq (next_val BIGINT);
+DELETE FROM ingredient_seq;
+INSERT INTO ingredient_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM ingredient;
+
+CREATE TABLE IF NOT EXISTS meal_plan_seq (next_val BIGINT);
+DELETE FROM meal_plan_seq;
+INSERT INTO meal_plan_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM meal_plan;
+
+CREATE TABLE IF NOT EXISTS user_seq (next_val BIGINT);
+DELETE FROM user_seq;
+INSERT INTO user_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM `user`;
+
+CREATE TABLE IF NOT EXISTS cooking_statistic_seq (next_val BIGINT);
+DELETE FROM cooking_statistic_seq;
+INSERT INTO cooking_statistic_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM cooking_statistic;
+
+ALTER TABLE ingredient ADD COLUMN IF NOT EXISTS catalog_entry_id BIGINT;
+
+UPDATE ingredient i
+JOIN recipe r ON r.id = i.recipe_id
+JOIN ingredient_catalog_entry c
+  ON c.tenant_id = r.tenant_id AND c.normalized_name = COALESCE(LOWER(REGEXP_REPLACE(TRIM(i.name), '[[:space:]]+', ' ')), '')
+SET i.catalog_entry_id = c.id
+WHERE i.catalog_entry_id IS NULL;
+
+-- Values equal to those of the entry are read from the entry, the ingredient stores NULL instead
+UPDATE ingredient i
+JOIN ingredient_catalog_entry c ON c.id = i.catalog_entry_id
+SET i.unit = CASE WHEN i.unit = c.unit THEN NULL ELSE i.unit END,
+    i.calories = CASE WHEN i.calories = c.calories THEN NULL ELSE i.calories END,
+    i.proteins = CASE WHEN i.proteins = c.proteins THEN NULL ELSE i.proteins END,
+    i.fats = CASE WHEN i.fats = c.fats THEN NULL ELSE i.fats END,
+    i.carbohydrates = CASE WHEN i.carbohydrates = c.carbohydrates THEN NULL ELSE i.carbohydrates END;
+
+ALTER TABLE ingredient
+    ADD CONSTRAINT fk_ingredient_catalog_entry FOREIGN KEY IF NOT EXISTS (catalog_entry_id) REFERENCES ingredient_catalog_entry (id);
+
+-- The ingredient counts of the rollups were keyed by name; the table is recreated on startup and refilled by the rebuild
+DROP TABLE IF EXISTS cooking_statistic_rollup_ingredient_counts;
@@ -0,0 +1,49 @@
+package backend.model.ShoppingList;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.IngredientCatalogEntry;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShoppingListTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void fractionalAmountsAreConvertedBeforeTheyAreRounded() {
+        Recipe recipe = new Recipe("Rezept", "Beschreibung", 30, new ArrayList<>(), Set.of(Tag.values()[0]), "tenant");
+        IngredientCatalogEntry entry = new IngredientCatalogEntry("tenant", "Mehl");
+        entry.setId(1L);
+        Ingredient ingredient = new Ingredient("Mehl", "0.25", QuantityUnit.KILOGRAM, recipe);
+        ingredient.setCatalogEntry(entry);
+        recipe.getIngredients().add(ingredient);
+
+        ShoppingList shoppingList = new ShoppingList(DATE, DATE);
+        shoppingList.generateShoppingList(List.of(new MealPlan("tenant", DATE, recipe, 1, recipe, 3, null, 0)));
+
+        ShoppingItem item = shoppingList.getItems().get(0);
+        assertEquals("1 kg", item.getUnit());
+        assertEquals(1.0, item.getAmount(), 1e-9);
+    }
+
+    @Test
+    void unitsAreShownWithTheirSymbol() {
+        IngredientTotals totals = new IngredientTotals();
+        totals.add(1L, "Salz", QuantityUnit.GRAM, 0.4);
+        totals.add(2L, "Zucker", QuantityUnit.MILLIGRAM, 1250);
+
+        List<ShoppingItem> items = totals.toShoppingItems();
+        assertEquals("400 mg", items.get(0).getUnit());
+        assertEquals("1.25 g", items.get(1).getUnit());
+    }
+}
@@ -0,0 +1,92 @@
+package backend.multitenant.authentication;
+
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerTest {
+
+    private static final String LOGIN = "{\"username\": \"user\", \"password\": \"secret\"}";
+
+    private final ExecutorService hashingExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "password-hashing-test"));
+    private final AuthService authService = mock(AuthService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new AuthController(authService, mock(JwtService.class), AuthMode.SESSION))
+            .build();
+
+    @AfterEach
+    void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    @Test
+    void sessionOfASuccessfulLoginHoldsTenantAndSecurityContext() throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser("user", "tenant", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(authService.authenticate(anyString(), anyString()))
+                .thenReturn(CompletableFuture.supplyAsync(() -> user, hashingExecutor));
+
+        MvcResult result = login();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Login successful"));
+
+        HttpSession session = result.getRequest().getSession(false);
+        assertNotNull(session);
+        assertEquals("tenant", session.getAttribute("tenantId"));
+        SecurityContext securityContext = (SecurityContext) session.getAttribute(
+                HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        assertEquals("user", securityContext.getAuthentication().getName());
+    }
+
+    @Test
+    void failedLoginCreatesNoSession() throws Exception {
+        when(authService.authenticate(anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Invalid username or password")));
+
+        MvcResult result = login();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest());
+
+        assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    void fullHashingQueueIsAnsweredWith503() throws Exception {
+        when(authService.authenticate(anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException()));
+
+        mockMvc.perform(asyncDispatch(login()))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    private MvcResult login() throws Exception {
+        return mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
@@ -0,0 +1,43 @@
+package backend.multitenant.authentication;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Test
+    void jwtModeRejectsTheDefaultSecret() {
+        assertThrows(IllegalStateException.class,
+                () -> new JwtService(JwtService.DEFAULT_SECRET, Duration.ofHours(1), AuthMode.JWT));
+    }
+
+    @Test
+    void jwtModeRejectsSecretsShorterThan32Bytes() {
+        assertThrows(IllegalStateException.class,
+                () -> new JwtService(SECRET.substring(1), Duration.ofHours(1), AuthMode.JWT));
+    }
+
+    @Test
+    void sessionModeStartsWithTheDefaultSecretButIssuesNoTokens() {
+        JwtService jwtService = new JwtService(JwtService.DEFAULT_SECRET, Duration.ofHours(1), AuthMode.SESSION);
+
+        assertThrows(IllegalStateException.class, () -> jwtService.createToken("user", "tenant"));
+    }
+
+    @Test
+    void issuedTokenCarriesUserAndTenant() {
+        JwtService jwtService = new JwtService(SECRET, Duration.ofHours(1), AuthMode.JWT);
+
+        Claims claims = jwtService.parseToken(jwtService.createToken("user", "tenant"));
+
+        assertEquals("user", claims.getSubject());
+        assertEquals("tenant", jwtService.getTenantId(claims));
+    }
+}
@@ -0,0 +1,47 @@
+package backend.multitenant.authentication;
+
+import backend.multitenant.tenantId.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TenantSessionFilterTest {
+
+    private final TenantSessionFilter filter = new TenantSessionFilter();
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void requestWithoutSessionKeepsTheTenantFromTheHeader() throws Exception {
+        AtomicReference<String> tenantInChain = new AtomicReference<>();
+
+        try (TenantContext.Scope ignored = TenantContext.enter("header-tenant")) {
+            filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                    (request, response) -> tenantInChain.set(TenantContext.getCurrentTenant()));
+        }
+
+        assertEquals("header-tenant", tenantInChain.get());
+    }
+
+    @Test
+    void tenantOfTheSessionIsSetForTheRequestOnly() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession(true).setAttribute("tenantId", "session-tenant");
+        AtomicReference<String> tenantInChain = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, response) -> tenantInChain.set(TenantContext.getCurrentTenant()));
+
+        assertEquals("session-tenant", tenantInChain.get());
+        assertNull(TenantContext.getCurrentTenant());
+    }
+}
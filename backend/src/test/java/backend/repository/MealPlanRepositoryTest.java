@@ -0,0 +1,95 @@
+package backend.repository;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class MealPlanRepositoryTest {
+
+    private static final String TENANT_ID = "tenant";
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MealPlanRepository mealPlanRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void loadingARangeNeedsTheSameNumberOfStatementsForAWeekAndAYear() {
+        List<Recipe> recipes = persistRecipes(30);
+        persistMealPlans(recipes, 365);
+
+        long weekStatements = countStatementsForRange(START_DATE, START_DATE.plusDays(6));
+        long yearStatements = countStatementsForRange(START_DATE, START_DATE.plusDays(364));
+
+        // Meal plans with their recipes, then the tags and ingredients of all recipes in batches
+        assertEquals(3, weekStatements);
+        assertEquals(3, yearStatements);
+    }
+
+    private long countStatementsForRange(LocalDate startDate, LocalDate endDate) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<MealPlan> mealPlans = mealPlanRepository.findByTenantIdAndDateBetween(TENANT_ID, startDate, endDate);
+        for (MealPlan mealPlan : mealPlans) {
+            for (Recipe recipe : List.of(mealPlan.getBreakfastRecipe(), mealPlan.getLunchRecipe(), mealPlan.getDinnerRecipe())) {
+                recipe.getTags().size();
+                recipe.getIngredients().size();
+            }
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Recipe> persistRecipes(int count) {
+        List<Recipe> recipes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Recipe recipe = new Recipe("Rezept " + i, "Beschreibung", 30, new ArrayList<>(), Set.of(Tag.values()[i % Tag.values().length]), TENANT_ID);
+            recipe.getIngredients().add(new Ingredient("Zutat " + i, "100", QuantityUnit.GRAM, recipe));
+            recipe.getIngredients().add(new Ingredient("Zutat " + (i + 1), "2", QuantityUnit.KILOGRAM, recipe));
+            recipes.add(entityManager.persist(recipe));
+        }
+        return recipes;
+    }
+
+    private void persistMealPlans(List<Recipe> recipes, int days) {
+        for (int day = 0; day < days; day++) {
+            entityManager.persist(new MealPlan(TENANT_ID, START_DATE.plusDays(day),
+                    recipes.get(day % recipes.size()), 1,
+                    recipes.get((day + 1) % recipes.size()), 2,
+                    recipes.get((day + 2) % recipes.size()), 1));
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,198 @@
+package backend.service;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.IngredientCatalogEntry;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.Tag;
+import backend.model.ShoppingList.ShoppingItem;
+import backend.model.ShoppingList.ShoppingList;
+import backend.repository.DailyIngredientDemandRepository;
+import backend.repository.MealPlanRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks the stored daily demand against the shopping list computed directly from the meal plans, which is the
+ * reference the demand rows have to reproduce after any sequence of meal plan and recipe changes. The demand query
+ * over the meal plans ({@link MealPlanRepository#sumIngredientDemandByTenantIdAndDateBetween}) is checked against
+ * the same reference.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(DailyIngredientDemandService.class)
+class DailyIngredientDemandServiceTest {
+
+    private static final String TENANT_ID = "tenant";
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 28;
+    private static final String[] QUANTITIES = {"0.25", "0,5", "1", "1.5", "2", "100", "250", "33.3"};
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DailyIngredientDemandService demandService;
+
+    @Autowired
+    private DailyIngredientDemandRepository demandRepository;
+
+    @Autowired
+    private MealPlanRepository mealPlanRepository;
+
+    @Test
+    void demandMatchesTheShoppingListOfTheMealPlansAfterRandomChanges() {
+        for (long seed = 1; seed <= 5; seed++) {
+            Random random = new Random(seed);
+            List<IngredientCatalogEntry> catalogue = persistCatalogue(seed);
+            List<Recipe> recipes = persistRecipes(catalogue, random);
+            List<MealPlan> mealPlans = persistMealPlans(recipes, random);
+            mealPlans.forEach(demandService::refresh);
+            assertSameShoppingList(mealPlans, random);
+
+            for (int change = 0; change < 20; change++) {
+                if (random.nextBoolean()) {
+                    editRecipe(recipes.get(random.nextInt(recipes.size())), catalogue, random);
+                } else {
+                    editMealPlan(mealPlans.get(random.nextInt(mealPlans.size())), recipes, random);
+                }
+                assertSameShoppingList(mealPlans, random);
+            }
+            entityManager.getEntityManager().createQuery("DELETE FROM DailyIngredientDemand").executeUpdate();
+            entityManager.getEntityManager().createQuery("DELETE FROM MealPlan").executeUpdate();
+            entityManager.clear();
+        }
+    }
+
+    // Changes, adds or removes an ingredient and refreshes the days that use the recipe, like RecipeService does
+    private void editRecipe(Recipe recipe, List<IngredientCatalogEntry> catalogue, Random random) {
+        List<Ingredient> ingredients = recipe.getIngredients();
+        int action = random.nextInt(3);
+        if (action == 0 && ingredients.size() > 1) {
+            ingredients.remove(random.nextInt(ingredients.size()));
+        } else if (action == 1) {
+            ingredients.add(randomIngredient(recipe, catalogue, random));
+        } else {
+            Ingredient ingredient = ingredients.get(random.nextInt(ingredients.size()));
+            ingredient.copyValuesFrom(new Ingredient(ingredient.getName(), randomQuantity(random), randomUnit(random), recipe));
+        }
+        entityManager.flush();
+        demandService.refreshRecipe(TENANT_ID, recipe.getId());
+    }
+
+    private void editMealPlan(MealPlan mealPlan, List<Recipe> recipes, Random random) {
+        mealPlan.setLunchRecipe(recipes.get(random.nextInt(recipes.size())));
+        mealPlan.setDinnerPortionSize(1 + random.nextInt(4));
+        entityManager.flush();
+        demandService.refresh(mealPlan);
+    }
+
+    private void assertSameShoppingList(List<MealPlan> mealPlans, Random random) {
+        LocalDate startDate = START_DATE.plusDays(random.nextInt(DAYS));
+        LocalDate endDate = startDate.plusDays(random.nextInt(DAYS));
+
+        ShoppingList expected = new ShoppingList(startDate, endDate);
+        expected.generateShoppingList(mealPlans);
+        ShoppingList stored = new ShoppingList(startDate, endDate);
+        stored.generateShoppingListFromDemand(demandRepository.sumByTenantIdAndDateBetween(TENANT_ID, startDate, endDate));
+        ShoppingList queried = new ShoppingList(startDate, endDate);
+        queried.generateShoppingListFromDemand(mealPlanRepository.sumIngredientDemandByTenantIdAndDateBetween(TENANT_ID, startDate, endDate));
+
+        assertFalse(expected.getItems().isEmpty());
+        assertSameItems(expected, stored);
+        assertSameItems(expected, queried);
+    }
+
+    private static void assertSameItems(ShoppingList expected, ShoppingList actual) {
+        LocalDate startDate = expected.getStartDate();
+        LocalDate endDate = expected.getEndDate();
+        Map<Long, ShoppingItem> expectedItems = byIngredient(expected.getItems());
+        Map<Long, ShoppingItem> actualItems = byIngredient(actual.getItems());
+        assertEquals(expectedItems.keySet(), actualItems.keySet(), () -> "Range " + startDate + " to " + endDate);
+        for (Map.Entry<Long, ShoppingItem> entry : expectedItems.entrySet()) {
+            ShoppingItem item = actualItems.get(entry.getKey());
+            assertEquals(unitsOf(entry.getValue()), unitsOf(item));
+            assertEquals(entry.getValue().getAmount(), item.getAmount(), 1e-9 * Math.max(1, item.getAmount()));
+        }
+    }
+
+    // The names may differ in case (catalogue vs. recipe), so items are compared by ID, units and amount
+    private static Map<Long, ShoppingItem> byIngredient(List<ShoppingItem> items) {
+        Map<Long, ShoppingItem> result = new TreeMap<>();
+        for (ShoppingItem item : items) {
+            result.put(item.getIngredientId(), item);
+        }
+        return result;
+    }
+
+    // Summing in another order may round the last shown decimal differently, so only the unit symbols are compared
+    private static String unitsOf(ShoppingItem item) {
+        return item.getUnit().replaceAll("[0-9.]+ ", "");
+    }
+
+    private List<IngredientCatalogEntry> persistCatalogue(long seed) {
+        List<IngredientCatalogEntry> catalogue = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            catalogue.add(entityManager.persist(new IngredientCatalogEntry(TENANT_ID, "zutat " + seed + "-" + i)));
+        }
+        return catalogue;
+    }
+
+    private List<Recipe> persistRecipes(List<IngredientCatalogEntry> catalogue, Random random) {
+        List<Recipe> recipes = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Recipe recipe = new Recipe("Rezept " + i, "Beschreibung", 30, new ArrayList<>(), Set.of(Tag.values()[0]), TENANT_ID);
+            int ingredientCount = 1 + random.nextInt(5);
+            for (int j = 0; j < ingredientCount; j++) {
+                recipe.getIngredients().add(randomIngredient(recipe, catalogue, random));
+            }
+            recipes.add(entityManager.persist(recipe));
+        }
+        entityManager.flush();
+        return recipes;
+    }
+
+    private List<MealPlan> persistMealPlans(List<Recipe> recipes, Random random) {
+        List<MealPlan> mealPlans = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            mealPlans.add(entityManager.persist(new MealPlan(TENANT_ID, START_DATE.plusDays(day),
+                    recipes.get(random.nextInt(recipes.size())), 1 + random.nextInt(4),
+                    recipes.get(random.nextInt(recipes.size())), 1 + random.nextInt(4),
+                    recipes.get(random.nextInt(recipes.size())), 1 + random.nextInt(4))));
+        }
+        entityManager.flush();
+        return mealPlans;
+    }
+
+    // Recipe names are written in upper case to differ from the catalogue name
+    private static Ingredient randomIngredient(Recipe recipe, List<IngredientCatalogEntry> catalogue, Random random) {
+        IngredientCatalogEntry entry = catalogue.get(random.nextInt(catalogue.size()));
+        Ingredient ingredient = new Ingredient(entry.getName().toUpperCase(), randomQuantity(random), randomUnit(random), recipe);
+        ingredient.setCatalogEntry(entry);
+        return ingredient;
+    }
+
+    private static String randomQuantity(Random random) {
+        return QUANTITIES[random.nextInt(QUANTITIES.length)];
+    }
+
+    private static QuantityUnit randomUnit(Random random) {
+        return QuantityUnit.values()[random.nextInt(QuantityUnit.values().length)];
+    }
+}
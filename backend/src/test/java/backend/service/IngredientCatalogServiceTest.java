@@ -0,0 +1,144 @@
+package backend.service;
+
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.IngredientCatalogEntry;
+import backend.model.Recipe.QuantityUnit;
+import backend.repository.IngredientCatalogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Not transactional, so the entries created in their own transactions are visible like in the application
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IngredientCatalogServiceTest {
+
+    private static final String TENANT_ID = "tenant";
+
+    @Autowired
+    private IngredientCatalogRepository catalogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void deleteEntries() {
+        catalogRepository.deleteAll();
+    }
+
+    @Test
+    void ingredientsWithTheSameNormalizedNameShareOneEntry() {
+        Ingredient first = ingredient(" Weizen  Mehl");
+        Ingredient second = ingredient("weizen mehl");
+
+        resolve(new IngredientCatalogService(catalogRepository, transactionManager), first, second);
+
+        assertNotNull(first.getCatalogEntryId());
+        assertEquals(first.getCatalogEntryId(), second.getCatalogEntryId());
+        assertEquals("Weizen  Mehl", catalogRepository.findById(first.getCatalogEntryId()).orElseThrow().getName());
+    }
+
+    @Test
+    void ingredientsWithoutNameShareTheUnnamedEntry() {
+        Ingredient blank = ingredient("  ");
+        Ingredient missing = ingredient(null);
+
+        resolve(new IngredientCatalogService(catalogRepository, transactionManager), blank, missing);
+
+        assertNotNull(blank.getCatalogEntryId());
+        assertEquals(blank.getCatalogEntryId(), missing.getCatalogEntryId());
+        assertEquals(IngredientCatalogEntry.UNNAMED, catalogRepository.findById(blank.getCatalogEntryId()).orElseThrow().getName());
+    }
+
+    @Test
+    void entryCreatedConcurrentlyIsReusedInsteadOfFailing() {
+        // Another transaction commits the entry after this one looked for it
+        IngredientCatalogEntry concurrent = catalogRepository.save(new IngredientCatalogEntry(TENANT_ID, "Zucker"));
+        // The first lookup finds nothing, as if the existing entries were committed after it
+        IngredientCatalogService service = new IngredientCatalogService(RepositoryStubs.answering(IngredientCatalogRepository.class,
+                catalogRepository, "findByTenantIdAndNormalizedNameIn", List.of()), transactionManager);
+        Ingredient sugar = ingredient("Zucker");
+        Ingredient salt = ingredient("Salz");
+
+        resolve(service, sugar, salt);
+
+        assertEquals(concurrent.getId(), sugar.getCatalogEntryId());
+        assertNotNull(salt.getCatalogEntryId());
+        assertEquals(2, catalogRepository.count());
+    }
+
+    @Test
+    void entryTakesUnitAndNutrientsOfTheFirstIngredientAndIngredientsOnlyStoreDifferences() {
+        Ingredient first = ingredient("Mehl", 10.0, 70.0);
+        Ingredient same = ingredient("mehl", 10.0, 70.0);
+        Ingredient different = new Ingredient("MEHL", "1", QuantityUnit.KILOGRAM, null);
+        different.setProteins(10.0);
+        different.setCarbohydrates(72.0);
+
+        resolve(new IngredientCatalogService(catalogRepository, transactionManager), first, same, different);
+
+        IngredientCatalogEntry entry = catalogRepository.findById(first.getCatalogEntryId()).orElseThrow();
+        assertEquals(QuantityUnit.GRAM, entry.getUnit());
+        assertEquals(10.0, entry.getProteins());
+        assertEquals(70.0, entry.getCarbohydrates());
+        assertStored(same, null, null, null);
+        assertStored(different, QuantityUnit.KILOGRAM, null, 72.0);
+        assertEquals(QuantityUnit.KILOGRAM, different.getUnit());
+        assertEquals(10.0, different.getProteins());
+        assertEquals(72.0, different.getCarbohydrates());
+        assertEquals(1000.0, different.getGrams());
+    }
+
+    @Test
+    void ingredientKeepsItsValuesWhenItMovesToAnotherEntry() {
+        Ingredient flour = ingredient("Mehl", 10.0, 70.0);
+        Ingredient sugar = ingredient("Zucker", 0.0, 100.0);
+        IngredientCatalogService service = new IngredientCatalogService(catalogRepository, transactionManager);
+        resolve(service, flour, sugar);
+        Ingredient renamed = ingredient("Mehl", 10.0, 70.0);
+        resolve(service, renamed);
+
+        renamed.setName("Zucker");
+        resolve(service, renamed);
+
+        assertEquals(sugar.getCatalogEntryId(), renamed.getCatalogEntryId());
+        assertStored(renamed, null, 10.0, 70.0);
+        assertEquals(10.0, renamed.getProteins());
+        assertEquals(70.0, renamed.getCarbohydrates());
+    }
+
+    private void resolve(IngredientCatalogService service, Ingredient... ingredients) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> service.resolveIngredients(TENANT_ID, List.of(ingredients)));
+    }
+
+    private static Ingredient ingredient(String name) {
+        return new Ingredient(name, "100", QuantityUnit.GRAM, null);
+    }
+
+    private static Ingredient ingredient(String name, Double proteins, Double carbohydrates) {
+        Ingredient ingredient = ingredient(name);
+        ingredient.setProteins(proteins);
+        ingredient.setCarbohydrates(carbohydrates);
+        return ingredient;
+    }
+
+    // The columns of the ingredient row, which are null where the catalogue entry's value applies
+    private static void assertStored(Ingredient ingredient, QuantityUnit unit, Double proteins, Double carbohydrates) {
+        assertEquals(unit, ReflectionTestUtils.getField(ingredient, "unit"));
+        assertEquals(proteins, ReflectionTestUtils.getField(ingredient, "proteins"));
+        assertEquals(carbohydrates, ReflectionTestUtils.getField(ingredient, "carbohydrates"));
+    }
+}
@@ -0,0 +1,170 @@
+package backend.service;
+
+import backend.model.Recipe.Ingredient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the ingredient search and its cache against a local stub of the Open Food Facts search API.
+ */
+class IngredientServiceTest {
+
+    private static final String RESPONSE = """
+        {"products": [{"product_name": "Haferflocken",
+                       "nutriments": {"energy-kcal_100g": 372, "proteins_100g": 13.5,
+                                      "fat_100g": 7, "carbohydrates_100g": 58.7}}]}
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/cgi/search.pl", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private IngredientSearchCache cache(String storeFile) {
+        return new IngredientSearchCache(100, Duration.ofHours(1), storeFile, new ObjectMapper());
+    }
+
+    private IngredientService service(IngredientSearchCache cache) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/cgi/search.pl";
+        return new IngredientService(cache, WebClient.create(), new NutritionCatalogue(""), url);
+    }
+
+    @Test
+    void searchReturnsTheProductsOfTheApi() {
+        List<Ingredient> ingredients = service(cache("")).searchIngredientsFromAPI("Hafer").join();
+
+        assertEquals(1, ingredients.size());
+        assertEquals("Haferflocken", ingredients.get(0).getName());
+        assertEquals(372.0, ingredients.get(0).getCalories());
+        assertEquals(13.5, ingredients.get(0).getProteins());
+        assertEquals(7.0, ingredients.get(0).getFats());
+        assertEquals(58.7, ingredients.get(0).getCarbohydrates());
+    }
+
+    @Test
+    void concurrentSearchesForTheSameQueryShareOneRequest() {
+        IngredientService service = service(cache(""));
+        release = new CountDownLatch(1);
+
+        List<CompletableFuture<List<Ingredient>>> searches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            searches.add(service.searchIngredientsFromAPI(i % 2 == 0 ? "Hafer" : "  HAFER "));
+        }
+        release.countDown();
+
+        for (CompletableFuture<List<Ingredient>> search : searches) {
+            assertEquals("Haferflocken", search.join().get(0).getName());
+        }
+        assertEquals(1, requests.get());
+        assertEquals(9, service.getSearchCacheStats().getSharedLoads());
+    }
+
+    @Test
+    void repeatedSearchIsAnsweredFromTheCache() {
+        IngredientService service = service(cache(""));
+
+        service.searchIngredientsFromAPI("Hafer").join();
+        List<Ingredient> cached = service.searchIngredientsFromAPI("hafer").join();
+
+        assertEquals("Haferflocken", cached.get(0).getName());
+        assertEquals(1, requests.get());
+        assertEquals(1, service.getSearchCacheStats().getHits());
+    }
+
+    @Test
+    void changingAReturnedIngredientDoesNotChangeTheCache() {
+        IngredientService service = service(cache(""));
+
+        Ingredient first = service.searchIngredientsFromAPI("Hafer").join().get(0);
+        first.setName("Geändert");
+        first.setCalories(0.0);
+        Ingredient second = service.searchIngredientsFromAPI("Hafer").join().get(0);
+
+        assertEquals("Haferflocken", second.getName());
+        assertEquals(372.0, second.getCalories());
+    }
+
+    @Test
+    void failedSearchIsNotCached() {
+        IngredientService service = service(cache(""));
+        failures.set(1);
+
+        assertTrue(service.searchIngredientsFromAPI("Hafer").join().isEmpty());
+        assertEquals("Haferflocken", service.searchIngredientsFromAPI("Hafer").join().get(0).getName());
+        assertEquals(2, requests.get());
+        assertEquals(1, service.getSearchCacheStats().getLoadFailures());
+    }
+
+    @Test
+    void cachedSearchesSurviveARestart() throws InterruptedException {
+        String storeFile = tempDir.resolve("cache.json").toString();
+        IngredientSearchCache cache = cache(storeFile);
+        service(cache).searchIngredientsFromAPI("Hafer").join();
+        cache.close();
+
+        IngredientSearchCache restarted = cache(storeFile);
+        restarted.load();
+        List<Ingredient> ingredients = service(restarted).searchIngredientsFromAPI("Hafer").join();
+
+        assertEquals("Haferflocken", ingredients.get(0).getName());
+        assertEquals(58.7, ingredients.get(0).getCarbohydrates());
+        assertEquals(1, requests.get());
+    }
+}
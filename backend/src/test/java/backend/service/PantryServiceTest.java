@@ -0,0 +1,68 @@
+package backend.service;
+
+import backend.model.Pantry.PantryItem;
+import backend.model.Pantry.PantryStock;
+import backend.model.Recipe.IngredientCatalogEntry;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.UnitDimension;
+import backend.repository.IngredientCatalogRepository;
+import backend.repository.PantryItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(PantryService.class)
+class PantryServiceTest {
+
+    private static final String TENANT_ID = "tenant";
+
+    @Autowired
+    private PantryService pantryService;
+
+    @Autowired
+    private PantryItemRepository pantryRepository;
+
+    @Autowired
+    private IngredientCatalogRepository catalogRepository;
+
+    private Long flourId;
+
+    @BeforeEach
+    void setUp() {
+        flourId = catalogRepository.save(new IngredientCatalogEntry(TENANT_ID, "Mehl")).getId();
+        pantryRepository.save(new PantryItem(TENANT_ID, flourId, UnitDimension.MASS, 500));
+    }
+
+    @Test
+    void negativeAmountIsRejectedAndKeepsTheStock() {
+        assertThrows(IllegalArgumentException.class, () -> pantryService.updateStock(TENANT_ID, List.of(stock(-1))));
+
+        assertEquals(500, pantryRepository.findByTenantId(TENANT_ID).get(0).getBaseAmount());
+    }
+
+    @Test
+    void zeroAmountRemovesTheStock() {
+        assertEquals(1, pantryService.updateStock(TENANT_ID, List.of(stock(0))));
+
+        assertTrue(pantryRepository.findByTenantId(TENANT_ID).isEmpty());
+    }
+
+    private PantryStock stock(double amount) {
+        PantryStock stock = new PantryStock();
+        stock.setIngredientId(flourId);
+        stock.setAmount(amount);
+        stock.setUnit(QuantityUnit.GRAM);
+        return stock;
+    }
+}
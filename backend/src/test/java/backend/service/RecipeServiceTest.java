@@ -0,0 +1,125 @@
+package backend.service;
+
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.RecipePage;
+import backend.model.Recipe.RecipeSummary;
+import backend.model.Recipe.Tag;
+import backend.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({RecipeService.class, CookingStatisticRollupService.class, DailyIngredientDemandService.class, IngredientCatalogService.class})
+class RecipeServiceTest {
+
+    private static final String TENANT_ID = "tenant";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Test
+    void recipesStoredWithoutTagMaskGetItOnBackfill() {
+        Recipe recipe = persistRecipe("Suppe", Set.of(Tag.SOUPS, Tag.VEGAN));
+        persistRecipe("Ohne Tags", Set.of());
+        // Like rows that existed before the column was added
+        entityManager.getEntityManager().createNativeQuery("UPDATE recipe SET tag_mask = 0").executeUpdate();
+        entityManager.clear();
+
+        assertEquals(1, recipeService.backfillTagMasks());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(Tag.SOUPS.mask() | Tag.VEGAN.mask(), recipeRepository.findById(recipe.getId()).orElseThrow().getTagMask());
+        assertEquals(0, recipeService.backfillTagMasks());
+    }
+
+    @Test
+    void pageContainsOnlyRecipesWithAllRequestedTags() {
+        persistRecipe("Suppe", Set.of(Tag.SOUPS, Tag.VEGAN));
+        persistRecipe("Salat", Set.of(Tag.SALADS, Tag.VEGAN));
+        persistRecipe("Ohne Tags", Set.of());
+
+        assertEquals(List.of("Salat", "Suppe"), names(page(null, List.of(Tag.VEGAN), null, 10)));
+        assertEquals(List.of("Suppe"), names(page(null, List.of(Tag.VEGAN, Tag.SOUPS), null, 10)));
+        assertEquals(3, page(null, null, null, 10).getItems().size());
+    }
+
+    @Test
+    void nameWildcardsAreMatchedLiterally() {
+        persistRecipe("50% Rabatt", Set.of());
+        persistRecipe("500 g Nudeln", Set.of());
+        persistRecipe("a_b", Set.of());
+        persistRecipe("axb", Set.of());
+        persistRecipe("C:\\Pfad", Set.of());
+        persistRecipe("C:Pfad", Set.of());
+
+        assertEquals(List.of("50% Rabatt"), names(page("50%", null, null, 10)));
+        assertEquals(List.of("a_b"), names(page("A_", null, null, 10)));
+        assertEquals(List.of("C:\\Pfad"), names(page("c:\\", null, null, 10)));
+    }
+
+    @Test
+    void pagesReturnEveryRecipeOnceIncludingRecipesWithoutName() {
+        for (String name : new String[]{"Zwiebelkuchen", "null", "Apfelkuchen", null, "Nudeln", null, "apfelkuchen", "Apfelkuchen"}) {
+            persistRecipe(name, Set.of());
+        }
+        List<RecipeSummary> all = recipeService.searchRecipeSummaries(TENANT_ID, null, null, null, null);
+
+        assertNull(all.get(0).getName());
+        assertNull(all.get(1).getName());
+
+        // Every page size, so that pages also end on a recipe without name
+        for (int size = 1; size <= 4; size++) {
+            List<RecipeSummary> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                RecipePage page = page(null, null, cursor, size);
+                paged.addAll(page.getItems());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertEquals(all.stream().map(RecipeSummary::getId).toList(), paged.stream().map(RecipeSummary::getId).toList());
+        }
+        assertEquals(8, all.size());
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> page(null, null, "not a cursor!", 10));
+        assertThrows(IllegalArgumentException.class, () -> page(null, null, "MTpudWxs", 10)); // "1:null" without marker
+    }
+
+    private RecipePage page(String name, List<Tag> tags, String cursor, int size) {
+        return recipeService.searchRecipePage(TENANT_ID, name, tags, null, null, cursor, size);
+    }
+
+    private static List<String> names(RecipePage page) {
+        return page.getItems().stream().map(RecipeSummary::getName).toList();
+    }
+
+    private Recipe persistRecipe(String name, Set<Tag> tags) {
+        Recipe recipe = entityManager.persist(new Recipe(name, "Beschreibung", 30, new ArrayList<>(), new HashSet<>(tags), TENANT_ID));
+        entityManager.flush();
+        return recipe;
+    }
+}
@@ -0,0 +1,29 @@
+package backend.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+/**
+ * Repository stand-ins for the tests of rows created concurrently by another transaction.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {}
+
+    /**
+     * Wraps a repository so that one method returns the given answer, as if the rows another transaction commits
+     * were not there yet when it ran. All other methods are passed to the repository.
+     */
+    static <T> T answering(Class<T> type, T repository, String methodName, Object answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals(methodName)) {
+                return answer;
+            }
+            try {
+                return method.invoke(repository, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }));
+    }
+}
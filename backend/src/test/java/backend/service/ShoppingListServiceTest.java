@@ -0,0 +1,272 @@
+package backend.service;
+
+import backend.model.Pantry.PantryItem;
+import backend.model.Recipe.IngredientCatalogEntry;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.UnitDimension;
+import backend.model.ShoppingList.DailyIngredientDemand;
+import backend.model.ShoppingList.ShoppingItem;
+import backend.model.ShoppingList.ShoppingListSync;
+import backend.model.ShoppingList.StoredShoppingItem;
+import backend.model.ShoppingList.StoredShoppingList;
+import backend.repository.DailyIngredientDemandRepository;
+import backend.repository.IngredientCatalogRepository;
+import backend.repository.PantryItemRepository;
+import backend.repository.StoredShoppingItemRepository;
+import backend.repository.StoredShoppingListRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Not transactional, so the lists created in their own transactions are visible like in the application
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShoppingListServiceTest {
+
+    private static final String TENANT_ID = "tenant";
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 1, 7);
+
+    @Autowired
+    private DailyIngredientDemandRepository demandRepository;
+
+    @Autowired
+    private StoredShoppingListRepository storedListRepository;
+
+    @Autowired
+    private StoredShoppingItemRepository storedItemRepository;
+
+    @Autowired
+    private PantryItemRepository pantryRepository;
+
+    @Autowired
+    private IngredientCatalogRepository catalogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long flourId;
+    private Long sugarId;
+
+    @BeforeEach
+    void createCatalogue() {
+        flourId = catalogRepository.save(new IngredientCatalogEntry(TENANT_ID, "Mehl")).getId();
+        sugarId = catalogRepository.save(new IngredientCatalogEntry(TENANT_ID, "Zucker")).getId();
+    }
+
+    @AfterEach
+    void deleteLists() {
+        storedItemRepository.deleteAll();
+        storedListRepository.deleteAll();
+        demandRepository.deleteAll();
+        pantryRepository.deleteAll();
+        catalogRepository.deleteAll();
+    }
+
+    @Test
+    void missingListIsCreatedOnce() {
+        ShoppingListService service = service(storedListRepository);
+
+        ShoppingListSync first = save(service);
+        ShoppingListSync second = save(service);
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(1, storedListRepository.count());
+    }
+
+    @Test
+    void listCreatedConcurrentlyIsReusedInsteadOfFailing() {
+        // Another request commits the list after this one checked for it
+        StoredShoppingList concurrent = storedListRepository.save(new StoredShoppingList(TENANT_ID, START_DATE, END_DATE));
+        ShoppingListService service = service(RepositoryStubs.answering(StoredShoppingListRepository.class,
+                storedListRepository, "existsByTenantIdAndStartDateAndEndDate", false));
+
+        ShoppingListSync shoppingList = save(service);
+
+        assertEquals(concurrent.getId(), shoppingList.getId());
+        assertEquals(1, storedListRepository.count());
+    }
+
+    @Test
+    void unchangedTotalKeepsTheCheckAndChangedTotalResetsIt() {
+        ShoppingListService service = service(storedListRepository);
+        demand(flourId, START_DATE, 500);
+        demand(sugarId, START_DATE, 100);
+        ShoppingListSync created = save(service);
+        setChecked(service, created, flourId, true);
+        setChecked(service, created, sugarId, true);
+
+        demand(sugarId, END_DATE, 50);
+        ShoppingListSync updated = save(service);
+
+        assertEquals(4, updated.getVersion());
+        StoredShoppingItem flour = item(updated, flourId);
+        assertTrue(flour.isChecked());
+        assertEquals(2, flour.getVersion());
+        StoredShoppingItem sugar = item(updated, sugarId);
+        assertFalse(sugar.isChecked());
+        assertEquals("150 g", sugar.getUnit());
+        assertEquals(4, sugar.getVersion());
+    }
+
+    @Test
+    void unchangedListKeepsItsVersion() {
+        ShoppingListService service = service(storedListRepository);
+        demand(flourId, START_DATE, 500);
+
+        assertEquals(1, save(service).getVersion());
+        assertEquals(1, save(service).getVersion());
+    }
+
+    @Test
+    void removedIngredientBecomesAnUncheckedTombstone() {
+        ShoppingListService service = service(storedListRepository);
+        demand(flourId, START_DATE, 500);
+        DailyIngredientDemand sugarDemand = demand(sugarId, START_DATE, 100);
+        ShoppingListSync created = save(service);
+        setChecked(service, created, sugarId, true);
+
+        demandRepository.delete(sugarDemand);
+        ShoppingListSync updated = save(service);
+
+        assertEquals(List.of(flourId), updated.getItems().stream().map(StoredShoppingItem::getIngredientId).toList());
+        StoredShoppingItem tombstone = storedItemRepository.findByShoppingListIdAndId(updated.getId(), item(created, sugarId).getId())
+                .orElseThrow();
+        assertTrue(tombstone.isDeleted());
+        assertFalse(tombstone.isChecked());
+        assertEquals(3, tombstone.getVersion());
+    }
+
+    @Test
+    void deltaContainsTheItemsChangedSinceTheVersionIncludingTombstones() {
+        ShoppingListService service = service(storedListRepository);
+        demand(flourId, START_DATE, 500);
+        DailyIngredientDemand sugarDemand = demand(sugarId, START_DATE, 100);
+        ShoppingListSync created = save(service);
+        setChecked(service, created, flourId, true);
+        demandRepository.delete(sugarDemand);
+        save(service);
+
+        ShoppingListSync delta = get(service, created.getId(), 1L);
+
+        assertTrue(delta.isDelta());
+        assertEquals(3, delta.getVersion());
+        assertEquals(List.of(flourId, sugarId), delta.getItems().stream().map(StoredShoppingItem::getIngredientId).toList());
+        assertTrue(delta.getItems().get(0).isChecked());
+        assertTrue(delta.getItems().get(1).isDeleted());
+
+        ShoppingListSync latest = get(service, created.getId(), 2L);
+        assertEquals(List.of(sugarId), latest.getItems().stream().map(StoredShoppingItem::getIngredientId).toList());
+
+        ShoppingListSync current = get(service, created.getId(), 3L);
+        assertTrue(current.isDelta());
+        assertTrue(current.getItems().isEmpty());
+    }
+
+    @Test
+    void unknownVersionIsAnsweredWithTheFullListWithoutTombstones() {
+        ShoppingListService service = service(storedListRepository);
+        demand(flourId, START_DATE, 500);
+        DailyIngredientDemand sugarDemand = demand(sugarId, START_DATE, 100);
+        ShoppingListSync created = save(service);
+        demandRepository.delete(sugarDemand);
+        save(service);
+
+        for (Long since : new Long[]{null, 99L}) {
+            ShoppingListSync full = get(service, created.getId(), since);
+
+            assertFalse(full.isDelta());
+            assertEquals(List.of(flourId), full.getItems().stream().map(StoredShoppingItem::getIngredientId).toList());
+        }
+    }
+
+    @Test
+    void checkingBumpsTheVersionOnlyWhenTheStateChanges() {
+        ShoppingListService service = service(storedListRepository);
+        demand(flourId, START_DATE, 500);
+        ShoppingListSync created = save(service);
+
+        ShoppingListSync checked = setChecked(service, created, flourId, true);
+        assertEquals(2, checked.getVersion());
+        assertEquals(2, checked.getItems().get(0).getVersion());
+        assertTrue(checked.getItems().get(0).isChecked());
+
+        ShoppingListSync repeated = setChecked(service, created, flourId, true);
+        assertEquals(2, repeated.getVersion());
+        assertEquals(2, repeated.getItems().get(0).getVersion());
+
+        ShoppingListSync unchecked = setChecked(service, created, flourId, false);
+        assertEquals(3, unchecked.getVersion());
+        assertEquals(3, unchecked.getItems().get(0).getVersion());
+        assertFalse(unchecked.getItems().get(0).isChecked());
+    }
+
+    @Test
+    void pantryStockIsSubtractedPerDimensionAndCoveredItemsAreLeftOut() {
+        ShoppingListService service = service(storedListRepository);
+        demand(flourId, START_DATE, 1000);
+        demand(flourId, END_DATE, 250);
+        demand(sugarId, START_DATE, 100);
+        pantryRepository.save(new PantryItem(TENANT_ID, flourId, UnitDimension.MASS, 500));
+        // Stock in another dimension is not converted and does not reduce the mass
+        pantryRepository.save(new PantryItem(TENANT_ID, flourId, UnitDimension.VOLUME, 2000));
+        pantryRepository.save(new PantryItem(TENANT_ID, sugarId, UnitDimension.MASS, 150));
+
+        List<ShoppingItem> net = service.generateShoppingList(TENANT_ID, START_DATE, END_DATE);
+        assertEquals(1, net.size());
+        assertEquals(flourId, net.get(0).getIngredientId());
+        assertEquals("750 g", net.get(0).getUnit());
+        assertEquals(750, net.get(0).getAmount(), 1e-9);
+
+        List<ShoppingItem> gross = service.generateShoppingList(TENANT_ID, START_DATE, END_DATE, false);
+        assertEquals(List.of("1.25 kg", "100 g"), gross.stream().map(ShoppingItem::getUnit).toList());
+    }
+
+    private ShoppingListService service(StoredShoppingListRepository listRepository) {
+        return new ShoppingListService(demandRepository, listRepository, storedItemRepository, pantryRepository, transactionManager);
+    }
+
+    private DailyIngredientDemand demand(Long ingredientId, LocalDate date, double grams) {
+        return demandRepository.save(new DailyIngredientDemand(TENANT_ID, date, ingredientId, QuantityUnit.GRAM, grams));
+    }
+
+    private ShoppingListSync save(ShoppingListService service) {
+        return inTransaction(() -> service.saveShoppingList(TENANT_ID, START_DATE, END_DATE));
+    }
+
+    private ShoppingListSync get(ShoppingListService service, Long id, Long since) {
+        return inTransaction(() -> service.getShoppingList(TENANT_ID, id, since));
+    }
+
+    private ShoppingListSync setChecked(ShoppingListService service, ShoppingListSync shoppingList, Long ingredientId, boolean checked) {
+        Long itemId = item(shoppingList, ingredientId).getId();
+        return inTransaction(() -> service.setChecked(TENANT_ID, shoppingList.getId(), itemId, checked));
+    }
+
+    private ShoppingListSync inTransaction(Supplier<ShoppingListSync> call) {
+        return new TransactionTemplate(transactionManager).execute(status -> call.get());
+    }
+
+    private static StoredShoppingItem item(ShoppingListSync shoppingList, Long ingredientId) {
+        return shoppingList.getItems().stream()
+                .filter(item -> item.getIngredientId().equals(ingredientId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
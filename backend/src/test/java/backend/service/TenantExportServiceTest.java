@@ -0,0 +1,138 @@
+package backend.service;
+
+import backend.model.MealPlan.MealPlan;
+import backend.model.Recipe.Ingredient;
+import backend.model.Recipe.QuantityUnit;
+import backend.model.Recipe.Recipe;
+import backend.model.Recipe.RecipeImportResult;
+import backend.model.Recipe.Tag;
+import backend.repository.MealPlanRepository;
+import backend.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports a tenant and imports the export into another tenant, which must end up with the same recipes and
+ * meal plans. The recipes contain everything {@code POST /api/recipes} accepts.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({TenantExportService.class, RecipeImportService.class, CookingStatisticRollupService.class,
+        DailyIngredientDemandService.class, IngredientCatalogService.class})
+class TenantExportServiceTest {
+
+    private static final String SOURCE_TENANT = "source";
+    private static final String TARGET_TENANT = "target";
+    private static final LocalDate DATE = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TenantExportService exportService;
+
+    @Autowired
+    private RecipeImportService importService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private MealPlanRepository mealPlanRepository;
+
+    @Test
+    void importOfAnExportRecreatesAllRecipesAndMealPlans() throws Exception {
+        Recipe pancakes = persistRecipe("Pfannkuchen", "Rezept 1", 20, Set.of(Tag.values()[0], Tag.values()[1]),
+                ingredient("Mehl", "250", QuantityUnit.GRAM, 10.0, 1.0, 70.0),
+                ingredient("Salz", "1 Prise", null, null, null, null),
+                ingredient("Milch", "0,5", QuantityUnit.KILOGRAM, null, null, null));
+        pancakes.setFavorite(true);
+        Recipe blank = persistRecipe("  ", "Rezept 2", null, Set.of(),
+                ingredient(null, null, null, null, null, null),
+                ingredient("", "etwas", QuantityUnit.GRAM, 1.0, 2.0, 3.0));
+        Recipe unnamed = persistRecipe(null, "Rezept 3", 5, Set.of(Tag.values()[2]));
+        entityManager.persist(new MealPlan(SOURCE_TENANT, DATE, pancakes, 2, blank, 1, null, 0));
+        entityManager.persist(new MealPlan(SOURCE_TENANT, DATE.plusDays(1), null, 0, unnamed, 3, pancakes, 4));
+        entityManager.flush();
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        exportService.export(SOURCE_TENANT, export);
+        RecipeImportResult result = importService.importRecipes(TARGET_TENANT, new ByteArrayInputStream(export.toByteArray()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(), result.getErrors().stream().map(error -> error.getLine() + ": " + error.getMessage()).toList());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getImportedMealPlans());
+        assertEquals(recipes(SOURCE_TENANT), recipes(TARGET_TENANT));
+        assertEquals(mealPlans(SOURCE_TENANT), mealPlans(TARGET_TENANT));
+    }
+
+    private Recipe persistRecipe(String name, String description, Integer cookingTime, Set<Tag> tags, Ingredient... ingredients) {
+        Recipe recipe = new Recipe(name, description, cookingTime, new ArrayList<>(List.of(ingredients)), tags, SOURCE_TENANT);
+        for (Ingredient ingredient : ingredients) {
+            ingredient.setRecipe(recipe);
+        }
+        recipe.calculateNutritionalValues();
+        return entityManager.persist(recipe);
+    }
+
+    private static Ingredient ingredient(String name, String quantity, QuantityUnit unit,
+                                         Double proteins, Double fats, Double carbohydrates) {
+        Ingredient ingredient = new Ingredient(name, quantity, unit, null);
+        ingredient.setProteins(proteins);
+        ingredient.setFats(fats);
+        ingredient.setCarbohydrates(carbohydrates);
+        return ingredient;
+    }
+
+    // The recipes without their IDs, ordered by description, which is unique in this test
+    private List<String> recipes(String tenantId) {
+        return recipeRepository.findByTenantId(tenantId).stream()
+                .map(recipe -> String.join(" | ", recipe.getDescription(), recipe.getName(),
+                        String.valueOf(recipe.getCookingTime()), String.valueOf(recipe.isFavorite()),
+                        recipe.getTags().stream().map(Tag::name).sorted().toList().toString(),
+                        recipe.getTotalCalories() + "/" + recipe.getTotalProteins() + "/" + recipe.getTotalFats()
+                                + "/" + recipe.getTotalCarbohydrates(),
+                        recipe.getIngredients().stream()
+                                .map(ingredient -> ingredient.getName() + " " + ingredient.getQuantity() + " "
+                                        + ingredient.getUnit() + " " + ingredient.getProteins() + "/"
+                                        + ingredient.getFats() + "/" + ingredient.getCarbohydrates())
+                                .sorted()
+                                .toList()
+                                .toString()))
+                .sorted()
+                .toList();
+    }
+
+    // The meal plans with the descriptions of their recipes instead of the recipe IDs
+    private List<String> mealPlans(String tenantId) {
+        return mealPlanRepository.findByTenantId(tenantId).stream()
+                .map(mealPlan -> String.join(" | ", mealPlan.getDate().toString(),
+                        description(mealPlan.getBreakfastRecipe()) + " x" + mealPlan.getBreakfastPortionSize(),
+                        description(mealPlan.getLunchRecipe()) + " x" + mealPlan.getLunchPortionSize(),
+                        description(mealPlan.getDinnerRecipe()) + " x" + mealPlan.getDinnerPortionSize()))
+                .sorted()
+                .toList();
+    }
+
+    private static String description(Recipe recipe) {
+        return recipe != null ? recipe.getDescription() : "-";
+    }
+}